@@ -20,6 +20,10 @@ java {
 dependencies {
     implementation("org.spongepowered:configurate-gson:4.2.0-SNAPSHOT")
     paperweight.paperDevBundle("1.21-R0.1-SNAPSHOT")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 
@@ -31,6 +35,9 @@ tasks {
     compileJava {
         options.release = 21
     }
+    test {
+        useJUnitPlatform()
+    }
     javadoc {
         options.encoding = Charsets.UTF_8.name()
     }
@@ -40,4 +47,14 @@ bukkitPluginYaml {
     main = "se.wilmer.tireswing.TireSwing"
     load = BukkitPluginYaml.PluginLoadOrder.POSTWORLD
     apiVersion = "1.21"
+
+    commands.register("tireswing") {
+        description = "Manages the tire swings"
+        usage = "/tireswing <stats|replay|stress|cleanup|bake|optimize|budget|leaks|integrators|reload|rides>"
+        permission = "tireswing.command"
+    }
+    permissions.register("tireswing.command") {
+        description = "Allows using the /tireswing command"
+        default = BukkitPluginYaml.Permission.Default.OP
+    }
 }
\ No newline at end of file
@@ -5,26 +5,42 @@ import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Interaction;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.world.ChunkLoadEvent;
-import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+import se.wilmer.tireswing.animation.IdleSway;
+import se.wilmer.tireswing.animation.Integrators;
+import se.wilmer.tireswing.animation.Keyframe;
 import se.wilmer.tireswing.animation.Rotation;
-import se.wilmer.tireswing.animation.Swing;
+import se.wilmer.tireswing.entities.DisplayPool;
+import se.wilmer.tireswing.entities.EntityRegistry;
 import se.wilmer.tireswing.entities.FulcrumEntity;
 import se.wilmer.tireswing.entities.InteractionEntity;
-import se.wilmer.tireswing.model.ModelEntity;
+import se.wilmer.tireswing.entities.Materialization;
+import se.wilmer.tireswing.entities.ViewDistance;
 import se.wilmer.tireswing.model.Model;
+import se.wilmer.tireswing.model.ModelDiff;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.network.FrameBundle;
+import se.wilmer.tireswing.network.NetworkStatistics;
+import se.wilmer.tireswing.network.SwingTraffic;
+import se.wilmer.tireswing.quality.QualityGovernor;
+import se.wilmer.tireswing.quality.QualityLevel;
+import se.wilmer.tireswing.quality.Staggering;
+import se.wilmer.tireswing.recording.RecordingWriter;
+import se.wilmer.tireswing.recording.RideRecorder;
+import se.wilmer.tireswing.stats.RideEvent;
+import se.wilmer.tireswing.stats.RideStatsStore;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 
-public final class Controller implements Listener {
+public final class Controller {
     /**
      * The TireSwing plugin instance.
      */
@@ -65,6 +81,26 @@ public final class Controller implements Listener {
      */
     private double radius;
 
+    /**
+     * If the main item display should stay at the center while it has no rider.
+     */
+    private final boolean staticRoot;
+
+    /**
+     * The idle sway of the tire swing, or null if it has no idle sway.
+     */
+    private final IdleSway idleSway;
+
+    /**
+     * The network traffic caused by the tire swing.
+     */
+    private final SwingTraffic traffic;
+
+    /**
+     * The recorder of the rides, or null if the rides are not recorded.
+     */
+    private final RideRecorder recorder;
+
     /**
      * The FulcrumEntity used.
      */
@@ -90,11 +126,78 @@ public final class Controller implements Listener {
      */
     private ItemDisplay itemDisplay;
 
+    /**
+     * The fulcrum of the tire swing.
+     */
+    private BlockDisplay fulcrum;
+
+    /**
+     * The player riding the tire swing, or null if it has no rider.
+     */
+    private Player passenger;
+
+    /**
+     * The task playing the swing, or null if the swing is not swinging.
+     */
+    private BukkitTask swingTask;
+
+    /**
+     * The task playing the idle sway, or null if the swing is not swaying.
+     */
+    private BukkitTask idleSwayTask;
+
+    /**
+     * The index of the next idle sway keyframe.
+     */
+    private long idleSwayKeyframe;
+
+    /**
+     * The integrator that steps the pendulum of the swing.
+     */
+    private Integrators integrator = Integrators.EULER;
+
+    /**
+     * The time the ride of the current passenger started at (nanoseconds, from {@link System#nanoTime()}).
+     * <p>
+     * The airtime is measured in wall-clock time, like the physics, so it is not cut short when the server lags.
+     */
+    private long rideStartNanos;
+
+    /**
+     * The tick path of the current ride, or null if the tire swing has not swung yet.
+     */
+    private SwingTick swingTick;
+
+    /**
+     * The quality level the tire swing is played at.
+     */
+    private QualityLevel quality = QualityLevel.FULL;
+
     /**
      * Indicates whether the tire swing has a passenger.
      */
     private boolean hasPassenger = false;
 
+    /**
+     * The staggered frames of the tire swing while it is low priority, or null if it is not staggered.
+     */
+    private Staggering staggering;
+
+    /**
+     * The tick slot of the tire swing, that its staggered frames and idle sway keyframes are sent on.
+     */
+    private int slot = 0;
+
+    /**
+     * The squared distance to the nearest player in the world, or {@link Double#MAX_VALUE} if there is none.
+     */
+    private double nearestDistanceSquared = Double.MAX_VALUE;
+
+    /**
+     * Indicates whether the entities are despawned because no player is nearby.
+     */
+    private boolean dematerialized = false;
+
     /**
      * Indicates whether the tire swing is currently swinging.
      */
@@ -104,34 +207,69 @@ public final class Controller implements Listener {
      * Constructs a new Controller instance.
      *
      * @param plugin          The TireSwing plugin instance.
-     * @param stillModel      The model used for the still part of the tire swing.
-     * @param rotationalModel The model used for the rotating part of the tire swing.
-     * @param ropeModel       The model used for the rope part of the tire swing.
+     * @param stillTemplate      The template of the model used for the still part of the tire swing.
+     * @param rotationalTemplate The template of the model used for the rotating part of the tire swing.
+     * @param ropeTemplate       The template of the model used for the rope part of the tire swing.
      * @param location        The location of the tire swing.
      * @param world           The world where the tire swing is located.
+     * @param staticRoot      If the main item display should stay at the center while it has no rider.
+     * @param idleSway        The idle sway of the tire swing, or null if it has no idle sway.
      */
-    public Controller(TireSwing plugin, Model stillModel, Model rotationalModel, Model ropeModel, Location location, World world) {
+    public Controller(TireSwing plugin, ModelTemplate stillTemplate, ModelTemplate rotationalTemplate, ModelTemplate ropeTemplate, Location location, World world, boolean staticRoot, IdleSway idleSway) {
         this.plugin = plugin;
-        this.stillModel = stillModel;
-        this.ropeModel = ropeModel;
-        this.rotationalModel = rotationalModel;
+        this.stillModel = new Model(stillTemplate);
+        this.ropeModel = new Model(ropeTemplate);
+        this.rotationalModel = new Model(rotationalTemplate);
         this.location = location;
         this.world = world;
-        this.chunkLocation = new Location(world, location.getChunk().getX(), 0, location.getChunk().getZ());
+        this.staticRoot = staticRoot;
+        this.idleSway = idleSway;
+        this.chunkLocation = new Location(world, location.getBlockX() >> 4, 0, location.getBlockZ() >> 4);
+        this.traffic = plugin.getNetworkStatistics().register(String.format(
+                "%s %d %d %d", world.getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ()
+        ));
+
+        RecordingWriter recordingWriter = plugin.getRecordingWriter();
+        this.recorder = recordingWriter == null ? null : new RideRecorder(
+                recordingWriter,
+                plugin.getRecordingFolder().resolve(traffic.getName().replace(' ', '_') + ".tsr")
+        );
     }
 
-    @EventHandler()
-    public void onChunkLoad(ChunkLoadEvent event) {
-        if (validate()) {
+    /**
+     * Respawns the tire swing if its entities were unloaded with the given chunk.
+     *
+     * @param chunk The chunk that was loaded.
+     */
+    public void handleChunkLoad(Chunk chunk) {
+        if (chunkLocation.getX() != chunk.getX() || chunkLocation.getZ() != chunk.getZ()) {
             return;
         }
-
-        Chunk chunk = event.getChunk();
-        if (chunkLocation.getX() == chunk.getX() && chunkLocation.getZ() == chunk.getZ()) {
+        if (interactionEntity != null && !dematerialized && !validate()) {
             spawn(interactionEntity, fulcrumEntity);
         }
     }
 
+    /**
+     * Loads the chunk of the tire swing asynchronously, and spawns the tire swing once it is loaded.
+     * <p>
+     * The tire swing is not spawned if it was already spawned by the chunk load, despawned because
+     * no player is nearby, or if the plugin was disabled while the chunk was loading.
+     *
+     * @param interactionEntity The interaction entity to create the interaction from.
+     * @param fulcrumEntity     The fulcrum entity to create the fulcrum from.
+     * @return A future that completes when the tire swing is spawned.
+     */
+    public CompletableFuture<Void> spawnAsync(InteractionEntity interactionEntity, FulcrumEntity fulcrumEntity) {
+        this.interactionEntity = interactionEntity;
+        this.fulcrumEntity = fulcrumEntity;
+        return world.getChunkAtAsync(location).thenAccept(chunk -> {
+            if (plugin.isEnabled() && !dematerialized && !validate()) {
+                spawn(interactionEntity, fulcrumEntity);
+            }
+        });
+    }
+
     /**
      * Spawns the tire swing at the specified location in the world.
      * <p>
@@ -140,30 +278,48 @@ public final class Controller implements Listener {
      * <p>
      * The first entity from the rotational model is the main item display,
      * and all other rotational item displays is added to it, so they also rotates.
+     * <p>
+     * The entities of an earlier spawn are removed first, and every new entity is tagged and owned by the tire swing.
      *
      * @param interactionEntity The interaction entity to create the interaction from.
      * @param fulcrumEntity     The fulcrum entity to create the fulcrum from.
      */
     public void spawn(InteractionEntity interactionEntity, FulcrumEntity fulcrumEntity) {
+        stopIdleSway();
+        clear();
         this.interactionEntity = interactionEntity;
         this.fulcrumEntity = fulcrumEntity;
 
         createInteraction(interactionEntity);
         createFulcrum(fulcrumEntity);
 
-        stillModel.spawn(location, world);
-        ropeModel.spawn(location, world);
-        rotationalModel.spawn(location, world);
+        EntityRegistry registry = plugin.getEntityRegistry();
+        DisplayPool pool = plugin.getDisplayPool();
+        stillModel.spawn(location, world, pool, display -> registry.register(display, traffic.getName()));
+        ropeModel.spawn(location, world, pool, display -> registry.register(display, traffic.getName()));
+        rotationalModel.spawn(location, world, pool, display -> registry.register(display, traffic.getName()));
 
-        Optional<ModelEntity> modelEntity = rotationalModel.getModelEntities().stream().findFirst();
-        modelEntity.ifPresent(entity -> itemDisplay = entity.itemDisplay());
+        itemDisplay = rotationalModel.getItemDisplay(0);
+        for (int i = 1; i < rotationalModel.size(); i++) {
+            itemDisplay.addPassenger(rotationalModel.getItemDisplay(i));
+        }
 
-        rotationalModel.getModelEntities().stream()
-                .skip(1)
-                .forEach(entity -> itemDisplay.addPassenger(entity.itemDisplay()));
+        NetworkStatistics statistics = plugin.getNetworkStatistics();
+        for (Model model : List.of(stillModel, ropeModel, rotationalModel)) {
+            for (int i = 0; i < model.size(); i++) {
+                statistics.track(model.getItemDisplay(i), traffic);
+            }
+        }
 
-        rotation = new Rotation(rotationalModel, ropeModel, itemDisplay, location, radius);
+        FrameBundle frameBundle = new FrameBundle(traffic, statistics.getPacketSizer());
+        rotation = new Rotation(rotationalModel, ropeModel, itemDisplay, location, radius, staticRoot, frameBundle);
         rotation.resetRotation();
+        plugin.getSwingMetrics().addEntitiesSpawned(getEntityCount());
+        QualityGovernor governor = plugin.getQualityGovernor();
+        QualityLevel level = governor == null ? quality : governor.getLevel();
+        quality = QualityLevel.FULL;
+        applyQuality(level);
+        startIdleSway();
     }
 
     /**
@@ -179,7 +335,9 @@ public final class Controller implements Listener {
             interaction.setInteractionHeight(entity.height());
             interaction.setInteractionWidth(entity.width());
             interaction.setPersistent(false);
+            plugin.getEntityRegistry().register(interaction, traffic.getName());
         });
+        plugin.getNetworkStatistics().track(interaction, traffic);
     }
 
     /**
@@ -194,44 +352,378 @@ public final class Controller implements Listener {
      * @param entity The fulcrum entity to create the fulcrum from.
      */
     private void createFulcrum(FulcrumEntity entity) {
-        world.spawn(entity.location(), BlockDisplay.class, blockDisplay -> {
+        fulcrum = world.spawn(entity.location(), BlockDisplay.class, blockDisplay -> {
             blockDisplay.setBlock(entity.blockData());
             blockDisplay.setTransformation(entity.transformation());
+            blockDisplay.setViewRange(entity.viewDistance().viewRange());
             blockDisplay.setPersistent(false);
+            plugin.getEntityRegistry().register(blockDisplay, traffic.getName());
         });
+        plugin.getNetworkStatistics().track(fulcrum, traffic);
         radius = entity.radius();
     }
 
     /**
      * Starts the swinging animation for the tire swing with a player as passenger.
      * <p>
-     * This method adds the player as a passenger to the item display, sets the swinging flag to true,
-     * and starts a timer task to update the swing animation.
+     * This method moves the item display to the tire, adds the player as a passenger to it,
+     * sets the swinging flag to true, and starts a timer task to update the swing animation.
      * <p>
      * If the player is jumping of the swing, the swing is slowing itself down.
+     * The item display is then no longer seated and the swing continues from the center.
      *
      * @param player The player to swing.
      */
     public void swing(Player player) {
-        Swing swing = new Swing();
+        passenger = player;
+        rideStartNanos = System.nanoTime();
+        plugin.getSwingMetrics().addRide();
+        startSwing(true);
         itemDisplay.addPassenger(player);
+    }
+
+    /**
+     * Starts a simulated swinging animation for the tire swing without a passenger.
+     * <p>
+     * The swing behaves as if it is seated until it is removed, so it causes the same work
+     * and traffic as a ridden swing. The simulated rides are not recorded.
+     */
+    public void simulate() {
+        startSwing(false);
+        hasPassenger = true;
+    }
+
+    /**
+     * Starts the timer task that updates the swing animation.
+     *
+     * @param record If the ride should be recorded.
+     */
+    private void startSwing(boolean record) {
+        stopIdleSway();
+        SwingTick ride = new SwingTick(
+                integrator,
+                rotation,
+                staticRoot,
+                record ? recorder : null,
+                plugin.getTickTimings(),
+                plugin.getSwingMetrics()
+        );
+        swingTick = ride;
+        if (!swinging) {
+            plugin.getSwingMetrics().startSwing();
+        }
         swinging = true;
-        plugin.getServer().getScheduler().runTaskTimer(plugin, task -> {
+        ride.mount(plugin.getServer().getCurrentTick());
+        swingTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
             if (!validate()) {
                 return;
             }
-            swing.update();
-            if (swing.isStill()) {
-                rotation.resetRotation();
-                swinging = false;
-                task.cancel();
-                return;
+            int tick = plugin.getServer().getCurrentTick();
+            switch (ride.tick(tick, System.nanoTime(), hasPassenger, getFrameInterval(), slot)) {
+                case STILL -> {
+                    stopSwing();
+                    if (!hasPassenger) {
+                        startIdleSway();
+                    }
+                }
+                case SETTLE -> {
+                    swingTask.cancel();
+                    playSettle(ride, 0);
+                }
+                default -> {
+                }
             }
+        }, 0L, 0L);
+    }
+
+    /**
+     * Plays the rest of the slowdown from its keyframes, without stepping the swing.
+     * <p>
+     * Each keyframe is sent once, and the next one is scheduled after the client has interpolated to it,
+     * so the server has no work between the keyframes. Like the idle sway, this needs a static main item display.
+     *
+     * @param ride  The ride that is settling.
+     * @param index The index of the keyframe to play.
+     */
+    private void playSettle(SwingTick ride, int index) {
+        if (!validate()) {
+            stopSwing();
+            return;
+        }
+        List<Keyframe> keyframes = ride.getSettleKeyframes();
+        if (index == keyframes.size()) {
+            ride.end(plugin.getServer().getCurrentTick());
+            stopSwing();
             if (!hasPassenger) {
-                swing.slowdown();
+                startIdleSway();
             }
-            rotation.rotate(swing.getAngle());
-        }, 0L, 0L);
+            return;
+        }
+
+        Keyframe keyframe = keyframes.get(index);
+        ride.playKeyframe(keyframe);
+        swingTask = plugin.getServer().getScheduler().runTaskLater(
+                plugin,
+                () -> playSettle(ride, index + 1),
+                keyframe.duration()
+        );
+    }
+
+    /**
+     * Returns the number of ticks between two frames of the swinging animation.
+     *
+     * @return The number of ticks between two frames.
+     * @see SwingTick#getFrameInterval(QualityLevel, Staggering, boolean, double)
+     */
+    private int getFrameInterval() {
+        return SwingTick.getFrameInterval(quality, staggering, hasPassenger, nearestDistanceSquared);
+    }
+
+    /**
+     * Sets the staggered frames and the tick slot of the tire swing.
+     * <p>
+     * Tire swings in different slots send their staggered frames and idle sway keyframes on different ticks,
+     * so the work of many tire swings is spread over the ticks instead of landing on the same one.
+     *
+     * @param staggering The staggered frames while the tire swing is low priority, or null if it is not staggered.
+     * @param slot       The tick slot of the tire swing.
+     */
+    public void setStaggering(Staggering staggering, int slot) {
+        this.staggering = staggering;
+        this.slot = slot;
+    }
+
+    /**
+     * Sets the integrator that steps the pendulum of the swing.
+     * <p>
+     * A ride that is already swinging keeps the integrator it started with.
+     *
+     * @param integrator The integrator of the pendulum.
+     */
+    public void setIntegrator(Integrators integrator) {
+        this.integrator = integrator;
+    }
+
+    /**
+     * Updates the distance to the nearest player in the world.
+     */
+    public void updateNearestPlayer() {
+        nearestDistanceSquared = Double.MAX_VALUE;
+        for (Player player : world.getPlayers()) {
+            nearestDistanceSquared = Math.min(nearestDistanceSquared, player.getLocation().distanceSquared(location));
+        }
+    }
+
+    /**
+     * Stops the swinging animation of the tire swing, if it is swinging.
+     */
+    private void stopSwing() {
+        if (swinging) {
+            plugin.getSwingMetrics().stopSwing();
+        }
+        swinging = false;
+        if (swingTask == null) {
+            return;
+        }
+        swingTask.cancel();
+        swingTask = null;
+    }
+
+    /**
+     * Starts the idle sway of the tire swing, if it has one.
+     * <p>
+     * A keyframe is only sent once every period, and the client interpolates between them.
+     * The sway needs a static main item display, since the client can't interpolate
+     * the movement of the main item display along the same path as the transformations.
+     */
+    private void startIdleSway() {
+        if (idleSway == null || !staticRoot || idleSwayTask != null || quality.isFrozenIdle()) {
+            return;
+        }
+        rotation.setSeated(false);
+        idleSwayKeyframe = 0;
+        idleSwayTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            if (!validate()) {
+                stopIdleSway();
+                return;
+            }
+            rotation.rotate(idleSway.angle(idleSwayKeyframe++), idleSway.period());
+            plugin.getSwingMetrics().recordFrame(rotation.getFrameUpdates());
+            rotation.flush();
+        }, slot % idleSway.period(), idleSway.period());
+    }
+
+    /**
+     * Stops the idle sway of the tire swing, if it is swaying.
+     */
+    private void stopIdleSway() {
+        if (idleSwayTask == null) {
+            return;
+        }
+        idleSwayTask.cancel();
+        idleSwayTask = null;
+    }
+
+    /**
+     * Plays the tire swing at the given quality level.
+     * <p>
+     * A frame is only sent once every frame interval, and the client interpolates it over the interval.
+     * The idle sway is stopped while the level freezes idle swings, and started again when it doesn't.
+     *
+     * @param level The quality level to play the tire swing at.
+     */
+    public void applyQuality(QualityLevel level) {
+        if (quality == level) {
+            return;
+        }
+        quality = level;
+        if (rotation == null) {
+            return;
+        }
+        rotation.setTeleportDuration(level.getFrameInterval() == 1 ? 0 : level.getFrameInterval());
+        rotation.setReducedParts(level.isReducedParts());
+        rotation.flush();
+        if (level.isFrozenIdle()) {
+            stopIdleSway();
+        } else if (!swinging && !hasPassenger) {
+            startIdleSway();
+        }
+    }
+
+    /**
+     * Spawns or despawns the entities depending on how close the nearest player is.
+     * <p>
+     * The entities are spawned when a player comes within the spawn distance, and only despawned
+     * when every player is beyond the larger despawn distance and nobody is riding the tire swing.
+     * While despawned, the tire swing is only kept as its configuration.
+     * The distance is the one from the last call to {@link #updateNearestPlayer()}.
+     *
+     * @param materialization The distances to spawn and despawn the entities at.
+     */
+    public void updateMaterialization(Materialization materialization) {
+        if (interactionEntity == null) {
+            return;
+        }
+        if (dematerialized) {
+            double spawnDistance = materialization.spawnDistance();
+            if (nearestDistanceSquared <= spawnDistance * spawnDistance
+                    && world.isChunkLoaded(chunkLocation.getBlockX(), chunkLocation.getBlockZ())) {
+                dematerialized = false;
+                spawn(interactionEntity, fulcrumEntity);
+            }
+            return;
+        }
+        double despawnDistance = materialization.despawnDistance();
+        if (nearestDistanceSquared > despawnDistance * despawnDistance && !swinging && !hasPassenger) {
+            stopIdleSway();
+            clear();
+            dematerialized = true;
+        }
+    }
+
+    /**
+     * Returns if the entities are despawned because no player is nearby.
+     *
+     * @return if the entities are despawned because no player is nearby.
+     */
+    public boolean isDematerialized() {
+        return dematerialized;
+    }
+
+    /**
+     * Shows or hides the entities that have a tracking range to the players in the world.
+     * <p>
+     * An entity is hidden from a player that is farther away from the tire swing than its tracking range,
+     * so it is no longer tracked by the player and no frames are sent to the player for it.
+     */
+    public void updateTracking() {
+        if (!rotationalModel.isSpawned()) {
+            return;
+        }
+        for (Player player : world.getPlayers()) {
+            double distanceSquared = player.getLocation().distanceSquared(location);
+            updateTracking(player, interaction, interactionEntity.viewDistance(), distanceSquared);
+            updateTracking(player, fulcrum, fulcrumEntity.viewDistance(), distanceSquared);
+            for (Model model : List.of(stillModel, ropeModel, rotationalModel)) {
+                ModelTemplate template = model.getTemplate();
+                for (int i = 0; i < model.size(); i++) {
+                    updateTracking(player, model.getItemDisplay(i), template.getViewDistance(i), distanceSquared);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shows or hides an entity to a player, depending on its tracking range.
+     *
+     * @param player          The player.
+     * @param entity          The entity.
+     * @param viewDistance    The view distance of the entity.
+     * @param distanceSquared The squared distance between the player and the tire swing.
+     */
+    private void updateTracking(Player player, Entity entity, ViewDistance viewDistance, double distanceSquared) {
+        if (entity == null || !viewDistance.isTrackingLimited()) {
+            return;
+        }
+        boolean inRange = distanceSquared <= (double) viewDistance.trackingRange() * viewDistance.trackingRange();
+        if (inRange == player.canSee(entity)) {
+            return;
+        }
+        if (inRange) {
+            player.showEntity(plugin, entity);
+        } else {
+            player.hideEntity(plugin, entity);
+        }
+    }
+
+    /**
+     * Changes the templates of the models, and only updates the parts that have changed.
+     * <p>
+     * The parts that are in both templates are updated in place, so only added parts are spawned
+     * and only removed parts are removed. The current frame is then sent again with the new models.
+     * If the entities are not all valid, they are removed and only the templates are changed,
+     * so the tire swing is spawned with the new models once its chunk is loaded.
+     *
+     * @param stillTemplate      The new template of the still model.
+     * @param rotationalTemplate The new template of the rotational model.
+     * @param ropeTemplate       The new template of the rope model.
+     * @return The difference between the old and the new models.
+     */
+    public ModelDiff applyModels(ModelTemplate stillTemplate, ModelTemplate rotationalTemplate, ModelTemplate ropeTemplate) {
+        boolean spawned = rotation != null && validate();
+        if (spawned) {
+            rotation.setReducedParts(false);
+        } else {
+            clear();
+        }
+
+        EntityRegistry registry = plugin.getEntityRegistry();
+        NetworkStatistics statistics = plugin.getNetworkStatistics();
+        DisplayPool pool = plugin.getDisplayPool();
+        Consumer<ItemDisplay> added = display -> {
+            registry.register(display, traffic.getName());
+            statistics.track(display, traffic);
+        };
+        Consumer<ItemDisplay> removed = display -> {
+            registry.unregister(display);
+            statistics.untrack(display);
+        };
+        int rotationalSize = rotationalModel.size();
+        ModelDiff diff = stillModel.apply(stillTemplate, location, world, pool, added, removed)
+                .plus(ropeModel.apply(ropeTemplate, location, world, pool, added, removed))
+                .plus(rotationalModel.apply(rotationalTemplate, location, world, pool, added, removed));
+        if (!spawned) {
+            return diff;
+        }
+
+        for (int i = rotationalSize; i < rotationalModel.size(); i++) {
+            itemDisplay.addPassenger(rotationalModel.getItemDisplay(i));
+        }
+        plugin.getSwingMetrics().addEntitiesSpawned(diff.added());
+        rotation.setModels(rotationalModel, ropeModel);
+        rotation.setReducedParts(quality.isReducedParts());
+        rotation.flush();
+        return diff;
     }
 
     /**
@@ -242,13 +734,11 @@ public final class Controller implements Listener {
     public boolean validate() {
         List<Model> models = List.of(ropeModel, rotationalModel, stillModel);
         for (Model model : models) {
-            if (model.getModelEntities().isEmpty()) {
-                clear();
+            if (!model.isSpawned()) {
                 return false;
             }
-            for (ModelEntity modelEntity : model.getModelEntities()) {
-                if (!modelEntity.itemDisplay().isValid()) {
-                    clear();
+            for (int i = 0; i < model.size(); i++) {
+                if (!model.getItemDisplay(i).isValid()) {
                     return false;
                 }
             }
@@ -257,12 +747,45 @@ public final class Controller implements Listener {
     }
 
     /**
-     * Clearing the swing.
+     * Removes the tire swing and all of its entities from the world.
+     */
+    public void remove() {
+        stopIdleSway();
+        stopSwing();
+        hasPassenger = false;
+        endRide();
+        passenger = null;
+        clear();
+        plugin.getNetworkStatistics().unregister(traffic);
+    }
+
+    /**
+     * Removes all the entities of the tire swing from the world, and no longer owns them.
+     * <p>
+     * The entities are removed even if some of them were already unloaded, so the tire swing
+     * can be spawned again without leaving the old entities behind. The item displays that are
+     * still loaded are parked in the display pool instead, if there is one.
      */
     public void clear() {
-        stillModel.clear();
-        ropeModel.clear();
-        rotationalModel.clear();
+        EntityRegistry registry = plugin.getEntityRegistry();
+        plugin.getNetworkStatistics().untrack(traffic);
+        if (recorder != null) {
+            recorder.flush();
+        }
+        if (interaction != null) {
+            registry.unregister(interaction);
+            interaction.remove();
+            interaction = null;
+        }
+        if (fulcrum != null) {
+            registry.unregister(fulcrum);
+            fulcrum.remove();
+            fulcrum = null;
+        }
+        DisplayPool pool = plugin.getDisplayPool();
+        stillModel.remove(pool, registry::unregister);
+        ropeModel.remove(pool, registry::unregister);
+        rotationalModel.remove(pool, registry::unregister);
     }
 
     /**
@@ -272,6 +795,27 @@ public final class Controller implements Listener {
      */
     public void setHasPassenger(boolean hasPassenger) {
         this.hasPassenger = hasPassenger;
+        if (!hasPassenger) {
+            endRide();
+            passenger = null;
+        }
+        if (!hasPassenger && !swinging) {
+            startIdleSway();
+        }
+    }
+
+    /**
+     * Queues the ride of the current passenger for the ride statistics, if they are gathered.
+     * <p>
+     * Only the event is queued here, the statistics are written on the writer thread of the store.
+     */
+    private void endRide() {
+        RideStatsStore rideStats = plugin.getRideStats();
+        if (passenger == null || rideStats == null) {
+            return;
+        }
+        double airtime = (System.nanoTime() - rideStartNanos) / 1e9;
+        rideStats.push(new RideEvent(traffic.getName(), passenger.getUniqueId(), airtime, Math.toDegrees(swingTick.getPeakAngle())));
     }
 
     /**
@@ -283,6 +827,36 @@ public final class Controller implements Listener {
         return hasPassenger;
     }
 
+    /**
+     * Returns the player riding the tire swing.
+     *
+     * @return The player riding the tire swing, or null if it has no rider.
+     */
+    public Player getPassenger() {
+        return passenger;
+    }
+
+    /**
+     * Returns the number of entities spawned by the tire swing.
+     *
+     * @return The number of entities spawned by the tire swing.
+     */
+    public int getEntityCount() {
+        int count = 0;
+        for (Model model : List.of(stillModel, ropeModel, rotationalModel)) {
+            if (model.isSpawned()) {
+                count += model.size();
+            }
+        }
+        if (interaction != null) {
+            count++;
+        }
+        if (fulcrum != null) {
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Returns if the tire swing is currently swinging.
      *
@@ -292,6 +866,96 @@ public final class Controller implements Listener {
         return swinging;
     }
 
+    /**
+     * Returns the network traffic caused by the tire swing.
+     *
+     * @return The network traffic caused by the tire swing.
+     */
+    public SwingTraffic getTraffic() {
+        return traffic;
+    }
+
+    /**
+     * Returns the location of the tire swing.
+     *
+     * @return The location of the tire swing.
+     */
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the model used for the rotating part of the tire swing.
+     *
+     * @return The model used for the rotating part of the tire swing.
+     */
+    public Model getRotationalModel() {
+        return rotationalModel;
+    }
+
+    /**
+     * Returns the model used for the rope part of the tire swing.
+     *
+     * @return The model used for the rope part of the tire swing.
+     */
+    public Model getRopeModel() {
+        return ropeModel;
+    }
+
+    /**
+     * Returns the model used for the still part of the tire swing.
+     *
+     * @return The model used for the still part of the tire swing.
+     */
+    public Model getStillModel() {
+        return stillModel;
+    }
+
+    /**
+     * Returns the radius of the tire swing's swing.
+     *
+     * @return The radius of the tire swing's swing.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Returns if the main item display stays at the center while it has no rider.
+     *
+     * @return if the main item display stays at the center while it has no rider.
+     */
+    public boolean isStaticRoot() {
+        return staticRoot;
+    }
+
+    /**
+     * Returns the integrator that steps the pendulum of the tire swing.
+     *
+     * @return The integrator of the pendulum.
+     */
+    public Integrators getIntegrator() {
+        return integrator;
+    }
+
+    /**
+     * Returns the quality level the tire swing is played at.
+     *
+     * @return The quality level of the tire swing.
+     */
+    public QualityLevel getQuality() {
+        return quality;
+    }
+
+    /**
+     * Returns the staggered frames of the tire swing while it is low priority.
+     *
+     * @return The staggered frames, or null if the tire swing is not staggered.
+     */
+    public Staggering getStaggering() {
+        return staggering;
+    }
+
     /**
      * Returns the interaction associated with the tire swing.
      *
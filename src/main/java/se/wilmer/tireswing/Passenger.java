@@ -8,33 +8,28 @@ import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 public final class Passenger implements Listener {
-    private final Controller controller;
-    private Player passenger;
+    private final SwingManager swingManager;
 
-    public Passenger(Controller controller) {
-        this.controller = controller;
+    public Passenger(SwingManager swingManager) {
+        this.swingManager = swingManager;
     }
 
     @EventHandler
     public void onEntityDismount(EntityDismountEvent event) {
-        if (!controller.hasPassenger()) {
-            return;
-        }
         if (!(event.getEntity() instanceof Player player)) {
             return;
         }
-        if (player.getUniqueId().equals(passenger.getUniqueId())) {
+        Controller controller = swingManager.getRiddenController(player);
+        if (controller != null) {
             controller.setHasPassenger(false);
         }
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        if (!controller.hasPassenger()) {
-            return;
-        }
         Player player = event.getPlayer();
-        if (player.getUniqueId().equals(passenger.getUniqueId())) {
+        Controller controller = swingManager.getRiddenController(player);
+        if (controller != null) {
             controller.getItemDisplay().removePassenger(player);
             controller.setHasPassenger(false);
         }
@@ -42,13 +37,11 @@ public final class Passenger implements Listener {
 
     @EventHandler
     public void onEntityInteract(PlayerInteractEntityEvent event) {
-        if (!controller.hasPassenger() && event.getRightClicked().getUniqueId().equals(controller.getInteraction().getUniqueId()) && !controller.isSwinging()) {
+        Controller controller = swingManager.getController(event.getRightClicked());
+        if (controller != null && !controller.hasPassenger() && !controller.isSwinging()) {
             Player player = event.getPlayer();
-            passenger = player;
             controller.swing(player);
             controller.setHasPassenger(true);
         }
     }
 }
-
-
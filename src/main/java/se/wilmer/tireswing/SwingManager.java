@@ -0,0 +1,196 @@
+package se.wilmer.tireswing;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.util.Vector;
+import se.wilmer.tireswing.configuration.Configuration;
+import se.wilmer.tireswing.entities.Materialization;
+import se.wilmer.tireswing.model.ModelDiff;
+import se.wilmer.tireswing.quality.Staggering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class SwingManager implements Listener {
+    /**
+     * The number of ticks between each update of the spawned and tracked entities.
+     */
+    private static final long TRACKING_PERIOD = 10L;
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The configuration that new tire swings are created from.
+     */
+    private final Configuration configuration;
+
+    /**
+     * Every tire swing that exists.
+     */
+    private final List<Controller> controllers = new ArrayList<>();
+
+    /**
+     * The tick slot of the next tire swing that is added.
+     */
+    private int nextSlot = 0;
+
+    /**
+     * Creates a new SwingManager instance.
+     *
+     * @param plugin        The TireSwing plugin instance.
+     * @param configuration The configuration that new tire swings are created from.
+     */
+    public SwingManager(TireSwing plugin, Configuration configuration) {
+        this.plugin = plugin;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Starts updating which tire swings are spawned, and which entities each player is tracking.
+     */
+    public void start() {
+        Materialization materialization = configuration.getMaterialization();
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            for (Controller controller : controllers) {
+                controller.updateNearestPlayer();
+                if (materialization != null) {
+                    controller.updateMaterialization(materialization);
+                }
+                controller.updateTracking();
+            }
+        }, TRACKING_PERIOD, TRACKING_PERIOD);
+    }
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        controllers.forEach(controller -> controller.handleChunkLoad(event.getChunk()));
+    }
+
+    /**
+     * Creates and spawns a tire swing from the configured models at the given location.
+     * <p>
+     * The interaction and the fulcrum keep their configured offsets from the tire swing,
+     * and the model templates are shared with every other tire swing.
+     *
+     * @param location The location of the new tire swing.
+     * @return The controller of the new tire swing.
+     */
+    public Controller create(Location location) {
+        Location origin = configuration.getLocation();
+        Vector offset = location.toVector().subtract(origin.toVector());
+        Controller controller = new Controller(
+                plugin,
+                configuration.getStillTemplate(),
+                configuration.getRotationalTemplate(),
+                configuration.getRopeTemplate(),
+                location,
+                location.getWorld(),
+                configuration.isStaticRoot(),
+                configuration.getIdleSway()
+        );
+        controller.spawn(
+                configuration.getInteractionEntity().offset(location.getWorld(), offset),
+                configuration.getFulcrumEntity().offset(location.getWorld(), offset)
+        );
+        add(controller);
+        return controller;
+    }
+
+    /**
+     * Adds an existing tire swing to the manager.
+     *
+     * @param controller The controller of the tire swing.
+     */
+    public void add(Controller controller) {
+        Staggering staggering = configuration.getStaggering();
+        controller.setStaggering(staggering, nextSlot++);
+        controller.setIntegrator(configuration.getIntegrator());
+        controllers.add(controller);
+        plugin.getSwingMetrics().addSwing();
+    }
+
+    /**
+     * Reloads the models from model.json, and only updates the parts of each tire swing that have changed.
+     *
+     * @return The difference summed over every tire swing, or null if the models could not be reloaded.
+     */
+    public ModelDiff reloadModels() {
+        if (!configuration.reloadModels()) {
+            return null;
+        }
+        ModelDiff diff = ModelDiff.NONE;
+        for (Controller controller : controllers) {
+            diff = diff.plus(controller.applyModels(
+                    configuration.getStillTemplate(),
+                    configuration.getRotationalTemplate(),
+                    configuration.getRopeTemplate()
+            ));
+        }
+        return diff;
+    }
+
+    /**
+     * Removes a tire swing and all of its entities.
+     *
+     * @param controller The controller of the tire swing.
+     */
+    public void remove(Controller controller) {
+        if (controllers.remove(controller)) {
+            plugin.getSwingMetrics().removeSwing();
+        }
+        controller.remove();
+    }
+
+    /**
+     * Returns the tire swing that owns the given interaction.
+     *
+     * @param entity The entity that was interacted with.
+     * @return The controller of the tire swing, or null if no tire swing owns the entity.
+     */
+    public Controller getController(Entity entity) {
+        if (!(entity instanceof Interaction)) {
+            return null;
+        }
+        for (Controller controller : controllers) {
+            Interaction interaction = controller.getInteraction();
+            if (interaction != null && interaction.getUniqueId().equals(entity.getUniqueId())) {
+                return controller;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the tire swing that the given player is riding.
+     *
+     * @param player The player.
+     * @return The controller of the tire swing, or null if the player is not riding a tire swing.
+     */
+    public Controller getRiddenController(Player player) {
+        for (Controller controller : controllers) {
+            Player passenger = controller.getPassenger();
+            if (passenger != null && passenger.getUniqueId().equals(player.getUniqueId())) {
+                return controller;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns an unmodifiable list of every tire swing.
+     *
+     * @return An unmodifiable list of every tire swing.
+     */
+    public List<Controller> getControllers() {
+        return Collections.unmodifiableList(controllers);
+    }
+}
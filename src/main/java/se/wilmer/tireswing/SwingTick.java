@@ -0,0 +1,247 @@
+package se.wilmer.tireswing;
+
+import se.wilmer.tireswing.animation.Integrators;
+import se.wilmer.tireswing.animation.Keyframe;
+import se.wilmer.tireswing.animation.Rotation;
+import se.wilmer.tireswing.animation.Swing;
+import se.wilmer.tireswing.metrics.SwingMetrics;
+import se.wilmer.tireswing.metrics.TickPhase;
+import se.wilmer.tireswing.metrics.TickTimings;
+import se.wilmer.tireswing.quality.QualityLevel;
+import se.wilmer.tireswing.quality.Staggering;
+import se.wilmer.tireswing.recording.RideRecorder;
+
+import java.util.List;
+
+public final class SwingTick {
+    /**
+     * The integrator that steps the pendulum of the ride.
+     */
+    private final Integrators integrator;
+
+    /**
+     * The swing of the ride.
+     */
+    private final Swing swing;
+
+    /**
+     * The rotation that the frames of the ride are sent through.
+     */
+    private final Rotation rotation;
+
+    /**
+     * If the main item display stays at the center while it has no rider.
+     */
+    private final boolean staticRoot;
+
+    /**
+     * The recorder of the ride, or null if the ride is not recorded.
+     */
+    private final RideRecorder rideRecorder;
+
+    /**
+     * The timings that the phases of the tick are recorded in.
+     */
+    private final TickTimings timings;
+
+    /**
+     * The metrics that the frames are recorded in.
+     */
+    private final SwingMetrics metrics;
+
+    /**
+     * The number of pendulum steps since the last frame.
+     */
+    private int pendingSteps = 0;
+
+    /**
+     * The largest angle of the ride while it had a rider (radians).
+     */
+    private double peakAngle = 0;
+
+    /**
+     * The keyframes of the rest of the slowdown, once the ride has started to settle.
+     */
+    private List<Keyframe> settleKeyframes = List.of();
+
+    /**
+     * Creates a new SwingTick instance.
+     *
+     * @param integrator   The integrator that steps the pendulum of the ride.
+     * @param rotation     The rotation that the frames of the ride are sent through.
+     * @param staticRoot   If the main item display stays at the center while it has no rider.
+     * @param rideRecorder The recorder of the ride, or null if the ride is not recorded.
+     * @param timings      The timings that the phases of the tick are recorded in.
+     * @param metrics      The metrics that the frames are recorded in.
+     */
+    public SwingTick(Integrators integrator, Rotation rotation, boolean staticRoot, RideRecorder rideRecorder, TickTimings timings, SwingMetrics metrics) {
+        this.integrator = integrator;
+        this.swing = new Swing(integrator);
+        this.rotation = rotation;
+        this.staticRoot = staticRoot;
+        this.rideRecorder = rideRecorder;
+        this.timings = timings;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Seats the rotation and records the mount.
+     *
+     * @param tick The current server tick.
+     */
+    public void mount(int tick) {
+        rotation.setSeated(true);
+        rotation.resetRotation();
+        if (rideRecorder != null) {
+            rideRecorder.mount(tick, integrator);
+        }
+    }
+
+    /**
+     * Runs one tick of the ride.
+     * <p>
+     * The pendulum is advanced to the wall-clock time, and the swing slows down while it has no rider.
+     * A frame is only sent on the ticks of the slot, every frame interval ticks, and the client
+     * interpolates over the whole interval.
+     *
+     * @param tick          The current server tick.
+     * @param now           The current wall-clock time (nanoseconds).
+     * @param hasPassenger  If the swing has a rider.
+     * @param frameInterval The number of ticks between two frames.
+     * @param slot          The tick slot of the swing.
+     * @return What the tick did.
+     */
+    public Result tick(int tick, long now, boolean hasPassenger, int frameInterval, int slot) {
+        long start = System.nanoTime();
+        pendingSteps += swing.advance(now);
+        long physics = System.nanoTime();
+        timings.record(TickPhase.PHYSICS, physics - start);
+        if (hasPassenger) {
+            peakAngle = Math.max(peakAngle, Math.abs(swing.getAngle()));
+        }
+        if (swing.isStill()) {
+            end(tick);
+            return Result.STILL;
+        }
+        if (!hasPassenger) {
+            if (rideRecorder != null && !swing.isSlowing()) {
+                rideRecorder.dismount(tick, pendingSteps);
+            }
+            swing.slowdown();
+            rotation.setSeated(false);
+            if (staticRoot) {
+                List<Keyframe> keyframes = swing.settle();
+                if (!keyframes.isEmpty()) {
+                    settleKeyframes = keyframes;
+                    return Result.SETTLE;
+                }
+            }
+        }
+        if ((tick + slot) % frameInterval != 0) {
+            return Result.SKIPPED;
+        }
+        rotation.setTeleportDuration(frameInterval == 1 ? 0 : frameInterval);
+        rotation.rotate(swing.getAngle(), frameInterval);
+        metrics.recordFrame(rotation.getFrameUpdates());
+        long rotated = System.nanoTime();
+        timings.record(TickPhase.ROTATION, rotated - physics);
+        rotation.flush();
+        timings.record(TickPhase.NETWORK, System.nanoTime() - rotated);
+        if (rideRecorder != null) {
+            rideRecorder.frame(tick, pendingSteps, swing.getAngle(), rotation.getFrameUpdates(), rotation.isFrameMoved());
+        }
+        pendingSteps = 0;
+        return Result.FRAME;
+    }
+
+    /**
+     * Sends a keyframe of the slowdown, that the client interpolates to over its duration.
+     *
+     * @param keyframe The keyframe to send.
+     */
+    public void playKeyframe(Keyframe keyframe) {
+        rotation.rotate(keyframe.angle(), keyframe.duration());
+        metrics.recordFrame(rotation.getFrameUpdates());
+        rotation.flush();
+    }
+
+    /**
+     * Resets the rotation and records the end of the ride, once the swing has become still.
+     *
+     * @param tick The current server tick.
+     */
+    public void end(int tick) {
+        rotation.resetRotation();
+        if (rideRecorder != null) {
+            rideRecorder.end(tick);
+        }
+    }
+
+    /**
+     * Returns the keyframes of the rest of the slowdown, after a tick has returned {@link Result#SETTLE}.
+     *
+     * @return The keyframes of the rest of the slowdown.
+     */
+    public List<Keyframe> getSettleKeyframes() {
+        return settleKeyframes;
+    }
+
+    /**
+     * Returns the largest angle of the ride while it had a rider.
+     *
+     * @return The largest angle of the ride (radians).
+     */
+    public double getPeakAngle() {
+        return peakAngle;
+    }
+
+    /**
+     * Returns the number of ticks between two frames of the swinging animation.
+     * <p>
+     * The frames are sent at the rate of the quality level, or at the staggered rate while the tire swing
+     * is low priority, whichever is slower. A tire swing is low priority while it has no rider,
+     * or while every player is farther away than the distant distance.
+     *
+     * @param quality                The quality level of the tire swing.
+     * @param staggering             The staggered frames while the tire swing is low priority, or null if it is not staggered.
+     * @param hasPassenger           If the tire swing has a rider.
+     * @param nearestDistanceSquared The squared distance to the nearest player.
+     * @return The number of ticks between two frames.
+     */
+    public static int getFrameInterval(QualityLevel quality, Staggering staggering, boolean hasPassenger, double nearestDistanceSquared) {
+        int frameInterval = quality.getFrameInterval();
+        if (staggering == null) {
+            return frameInterval;
+        }
+        double distantDistance = staggering.distantDistance();
+        if (!hasPassenger || nearestDistanceSquared > distantDistance * distantDistance) {
+            return Math.max(frameInterval, staggering.interval());
+        }
+        return frameInterval;
+    }
+
+    /**
+     * What a tick of the ride did.
+     */
+    public enum Result {
+        /**
+         * A frame was sent.
+         */
+        FRAME,
+
+        /**
+         * The pendulum was stepped, but it was not the tick of a frame.
+         */
+        SKIPPED,
+
+        /**
+         * The swing has started to settle, and the rest of the slowdown is played from its keyframes.
+         */
+        SETTLE,
+
+        /**
+         * The swing has become still and the ride has ended.
+         */
+        STILL
+    }
+}
@@ -1,11 +1,36 @@
 package se.wilmer.tireswing;
 
+import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
+import se.wilmer.tireswing.command.TireSwingCommand;
 import se.wilmer.tireswing.configuration.Configuration;
+import se.wilmer.tireswing.entities.DisplayPool;
+import se.wilmer.tireswing.entities.EntityRegistry;
+import se.wilmer.tireswing.metrics.MetricsServer;
+import se.wilmer.tireswing.metrics.SwingMetrics;
+import se.wilmer.tireswing.metrics.TickTimings;
+import se.wilmer.tireswing.network.NetworkStatistics;
+import se.wilmer.tireswing.quality.QualityGovernor;
+import se.wilmer.tireswing.recording.RecordingWriter;
+import se.wilmer.tireswing.stats.RideStatsStore;
+import se.wilmer.tireswing.stress.StressTest;
+
+import java.nio.file.Path;
 
 public final class TireSwing extends JavaPlugin {
     private Controller controller;
+    private NetworkStatistics networkStatistics;
+    private RecordingWriter recordingWriter;
+    private SwingManager swingManager;
+    private StressTest stressTest;
+    private QualityGovernor qualityGovernor;
+    private MetricsServer metricsServer;
+    private EntityRegistry entityRegistry;
+    private DisplayPool displayPool;
+    private RideStatsStore rideStats;
+    private final TickTimings tickTimings = new TickTimings();
+    private final SwingMetrics swingMetrics = new SwingMetrics();
 
     @Override
     public void onEnable() {
@@ -17,29 +42,209 @@ public final class TireSwing extends JavaPlugin {
             return;
         }
 
+        networkStatistics = new NetworkStatistics(this);
+        networkStatistics.start();
+
+        entityRegistry = new EntityRegistry(this);
+        int leaks = entityRegistry.removeLeaks();
+        if (leaks > 0) {
+            getComponentLogger().warn("Removed {} leaked tire swing entities", leaks);
+        }
+        if (configuration.getPoolSettings() != null) {
+            displayPool = new DisplayPool(this, configuration.getPoolSettings());
+            displayPool.start();
+        }
+
+        if (configuration.isRecording()) {
+            recordingWriter = new RecordingWriter(getComponentLogger());
+        }
+
+        if (configuration.getRideStatsSettings() != null) {
+            rideStats = new RideStatsStore(getComponentLogger(), getDataFolder().toPath().resolve("ride_stats.db"), configuration.getRideStatsSettings());
+            rideStats.start();
+        }
+
+        if (configuration.getGovernorSettings() != null) {
+            qualityGovernor = new QualityGovernor(this, configuration.getGovernorSettings());
+        }
+
         controller = new Controller(
                 this,
-                configuration.getStillModel(),
-                configuration.getRotationalModel(),
-                configuration.getRopeModel(),
+                configuration.getStillTemplate(),
+                configuration.getRotationalTemplate(),
+                configuration.getRopeTemplate(),
                 configuration.getLocation(),
-                configuration.getWorld()
+                configuration.getWorld(),
+                configuration.isStaticRoot(),
+                configuration.getIdleSway()
         );
-        controller.spawn(
+
+        swingManager = new SwingManager(this, configuration);
+        swingManager.add(controller);
+        controller.spawnAsync(
                 configuration.getInteractionEntity(),
                 configuration.getFulcrumEntity()
-        );
+        ).exceptionally(e -> {
+            getComponentLogger().error("Could not spawn the tire swing", e);
+            return null;
+        });
+        swingManager.start();
+        stressTest = new StressTest(this, swingManager);
+        if (qualityGovernor != null) {
+            qualityGovernor.start();
+        }
 
-        Passenger passenger = new Passenger(controller);
+        Passenger passenger = new Passenger(swingManager);
         pluginManager.registerEvents(passenger, this);
-        pluginManager.registerEvents(controller, this);
+        pluginManager.registerEvents(swingManager, this);
+        pluginManager.registerEvents(networkStatistics, this);
+        if (qualityGovernor != null) {
+            pluginManager.registerEvents(qualityGovernor, this);
+        }
+
+        if (configuration.getMetricsPort() > 0) {
+            metricsServer = new MetricsServer(this, configuration.getMetricsPort());
+            if (!metricsServer.start()) {
+                metricsServer = null;
+            }
+        }
+
+        PluginCommand command = getCommand("tireswing");
+        if (command != null) {
+            TireSwingCommand tireSwingCommand = new TireSwingCommand(this);
+            command.setExecutor(tireSwingCommand);
+            command.setTabCompleter(tireSwingCommand);
+        }
     }
 
     @Override
     public void onDisable() {
-        if (controller != null) {
-            controller.clear();
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        if (stressTest != null) {
+            stressTest.cleanup();
+        }
+        if (swingManager != null) {
+            swingManager.getControllers().forEach(Controller::clear);
+        }
+        if (displayPool != null) {
+            displayPool.clear();
         }
         getServer().getScheduler().cancelTasks(this);
+        if (recordingWriter != null) {
+            recordingWriter.close();
+        }
+        if (rideStats != null) {
+            rideStats.close();
+        }
+    }
+
+    /**
+     * Returns the network statistics of the swings.
+     *
+     * @return The network statistics of the swings.
+     */
+    public NetworkStatistics getNetworkStatistics() {
+        return networkStatistics;
+    }
+
+    /**
+     * Returns the registry of the entities owned by the swings.
+     *
+     * @return The registry of the entities owned by the swings.
+     */
+    public EntityRegistry getEntityRegistry() {
+        return entityRegistry;
+    }
+
+    /**
+     * Returns the store of the ride statistics.
+     *
+     * @return The store of the ride statistics, or null if they are not gathered.
+     */
+    public RideStatsStore getRideStats() {
+        return rideStats;
+    }
+
+    /**
+     * Returns the pool of parked item displays.
+     *
+     * @return The pool of parked item displays, or null if the item displays are not pooled.
+     */
+    public DisplayPool getDisplayPool() {
+        return displayPool;
+    }
+
+    /**
+     * Returns the time spent in each phase of the swing ticks.
+     *
+     * @return The time spent in each phase of the swing ticks.
+     */
+    public TickTimings getTickTimings() {
+        return tickTimings;
+    }
+
+    /**
+     * Returns the counters of the swings.
+     *
+     * @return The counters of the swings.
+     */
+    public SwingMetrics getSwingMetrics() {
+        return swingMetrics;
+    }
+
+    /**
+     * Returns the writer of the ride logs.
+     *
+     * @return The writer of the ride logs, or null if the rides are not recorded.
+     */
+    public RecordingWriter getRecordingWriter() {
+        return recordingWriter;
+    }
+
+    /**
+     * Returns the folder of the ride logs.
+     *
+     * @return The folder of the ride logs.
+     */
+    public Path getRecordingFolder() {
+        return getDataFolder().toPath().resolve("recordings");
+    }
+
+    /**
+     * Returns the manager of the tire swings.
+     *
+     * @return The manager of the tire swings.
+     */
+    public SwingManager getSwingManager() {
+        return swingManager;
+    }
+
+    /**
+     * Returns the stress test of the tire swings.
+     *
+     * @return The stress test of the tire swings.
+     */
+    public StressTest getStressTest() {
+        return stressTest;
+    }
+
+    /**
+     * Returns the governor of the swing quality.
+     *
+     * @return The governor of the swing quality, or null if it is disabled.
+     */
+    public QualityGovernor getQualityGovernor() {
+        return qualityGovernor;
+    }
+
+    /**
+     * Returns the controller of the tire swing.
+     *
+     * @return The controller of the tire swing.
+     */
+    public Controller getController() {
+        return controller;
     }
 }
\ No newline at end of file
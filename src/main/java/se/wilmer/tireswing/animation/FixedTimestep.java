@@ -0,0 +1,63 @@
+package se.wilmer.tireswing.animation;
+
+final class FixedTimestep {
+    /**
+     * The length of a step (nanoseconds).
+     */
+    private final long step;
+
+    /**
+     * The maximum number of steps that are run to catch up at once.
+     */
+    private final int maxSteps;
+
+    /**
+     * The time that has not been stepped yet (nanoseconds).
+     */
+    private long accumulator;
+
+    /**
+     * The wall-clock time of the last advance (nanoseconds), or -1 if it has not started.
+     */
+    private long lastTime = -1;
+
+    /**
+     * Creates a new FixedTimestep instance.
+     * <p>
+     * The accumulator starts half a step ahead, so that the normal jitter of the tick length
+     * doesn't make it alternate between zero and two steps per tick.
+     *
+     * @param step     The length of a step (seconds).
+     * @param maxSteps The maximum number of steps that are run to catch up at once.
+     */
+    FixedTimestep(double step, int maxSteps) {
+        this.step = (long) (step * 1.0E9);
+        this.maxSteps = maxSteps;
+        this.accumulator = this.step / 2;
+    }
+
+    /**
+     * Advances the wall-clock time and returns how many steps that should be run.
+     * <p>
+     * If more than the maximum number of steps is behind, the rest is dropped,
+     * so the catch-up work is bounded after a long tick.
+     *
+     * @param now The current wall-clock time (nanoseconds).
+     * @return The number of steps to run.
+     */
+    int advance(long now) {
+        if (lastTime == -1) {
+            lastTime = now;
+            return 0;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = (int) Math.min(accumulator / step, maxSteps);
+        accumulator -= steps * step;
+        if (accumulator >= step) {
+            accumulator %= step;
+        }
+        return steps;
+    }
+}
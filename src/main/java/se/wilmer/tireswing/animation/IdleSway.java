@@ -0,0 +1,23 @@
+package se.wilmer.tireswing.animation;
+
+/**
+ * The idle sway of a swing without a rider.
+ * <p>
+ * The sway is played by the client, by interpolating between two keyframes over a whole period,
+ * so the server only has to send a keyframe once every period.
+ *
+ * @param amplitude The amplitude of the sway (radians).
+ * @param period    The time between two keyframes (ticks).
+ */
+public record IdleSway(double amplitude, int period) {
+
+    /**
+     * Returns the angle of a keyframe.
+     *
+     * @param keyframe The index of the keyframe.
+     * @return The angle of the keyframe (radians).
+     */
+    public double angle(long keyframe) {
+        return keyframe % 2 == 0 ? amplitude : -amplitude;
+    }
+}
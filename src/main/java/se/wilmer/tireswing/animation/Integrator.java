@@ -0,0 +1,66 @@
+package se.wilmer.tireswing.animation;
+
+/**
+ * A numerical integrator that advances the state of a pendulum by one step.
+ *
+ * @see Integrators
+ */
+public interface Integrator {
+    /**
+     * Advances the state by one step.
+     *
+     * @param state        The state to advance, which is updated in place.
+     * @param acceleration The angular acceleration of the pendulum.
+     * @param dt           The length of the step (seconds).
+     */
+    void step(State state, Acceleration acceleration, double dt);
+
+    /**
+     * The angular acceleration of a pendulum in a given state.
+     */
+    @FunctionalInterface
+    interface Acceleration {
+        /**
+         * Returns the angular acceleration.
+         *
+         * @param angle           The angle (radians).
+         * @param angularVelocity The angular velocity (radians/second).
+         * @param time            The simulation time (seconds).
+         * @return The angular acceleration (radians/second^2).
+         */
+        double at(double angle, double angularVelocity, double time);
+    }
+
+    /**
+     * The state of a pendulum that an integrator advances.
+     */
+    final class State {
+        /**
+         * The angle (radians).
+         */
+        double angle;
+
+        /**
+         * The angular velocity (radians/second).
+         */
+        double angularVelocity;
+
+        /**
+         * The simulation time (seconds).
+         */
+        double time;
+
+        /**
+         * Creates a new State instance.
+         *
+         * @param angle           The angle (radians).
+         * @param angularVelocity The angular velocity (radians/second).
+         * @param time            The simulation time (seconds).
+         */
+        State(double angle, double angularVelocity, double time) {
+            this.angle = angle;
+            this.angularVelocity = angularVelocity;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package se.wilmer.tireswing.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class IntegratorBenchmark {
+    /**
+     * The time step of the reference ride (seconds).
+     */
+    private static final double REFERENCE_TIME_STEP = 0.001;
+
+    /**
+     * The time between the angles that are compared with the reference ride (seconds).
+     * <p>
+     * It is a multiple of every benchmarked time step, so every ride has an angle at each sample.
+     */
+    private static final double SAMPLE_INTERVAL = 0.2;
+
+    /**
+     * The time the rider stays seated in the standard ride (seconds).
+     */
+    private static final double SEATED_TIME = 6.0;
+
+    /**
+     * The time the standard ride slows down for (seconds).
+     */
+    private static final double SLOWING_TIME = 6.0;
+
+    /**
+     * The angle the undamped pendulum starts at (radians).
+     */
+    private static final double ENERGY_START_ANGLE = 1.0;
+
+    /**
+     * The time the undamped pendulum swings for (seconds).
+     */
+    private static final double ENERGY_TIME = 60.0;
+
+    /**
+     * The number of steps that are run before timing, so the step is compiled.
+     */
+    private static final int WARMUP_STEPS = 200_000;
+
+    /**
+     * The number of steps that are timed.
+     */
+    private static final int TIMED_STEPS = 1_000_000;
+
+    /**
+     * The sum of the timed angles, kept so the timed steps are not optimized away.
+     */
+    private static volatile double blackhole;
+
+    /**
+     * Measures every integrator at every time step.
+     * <p>
+     * The accuracy is the largest angle difference of the standard ride from a reference ride,
+     * that is stepped with RK4 at a tiny time step. The standard ride is driven, swings freely
+     * and slows down like the swing does. The energy drift is measured on an undamped pendulum,
+     * which an integrator should neither speed up nor slow down. The cost is measured on the
+     * driven pendulum, so the benchmark should run on a thread of its own.
+     *
+     * @param timeSteps The time steps to measure (seconds).
+     * @return The results, grouped by integrator.
+     */
+    public List<IntegratorResult> run(double... timeSteps) {
+        double[] reference = ride(Integrators.RK4, REFERENCE_TIME_STEP);
+        List<IntegratorResult> results = new ArrayList<>();
+        for (Integrators integrator : Integrators.values()) {
+            for (double timeStep : timeSteps) {
+                double[] angles = ride(integrator, timeStep);
+                double maxAngleError = 0;
+                for (int i = 0; i < angles.length; i++) {
+                    double error = Math.abs(Math.IEEEremainder(angles[i] - reference[i], 2 * Math.PI));
+                    maxAngleError = Double.isNaN(error) ? Double.POSITIVE_INFINITY : Math.max(maxAngleError, error);
+                }
+                results.add(new IntegratorResult(
+                        integrator.getName(),
+                        timeStep,
+                        maxAngleError,
+                        energyDrift(integrator, timeStep),
+                        time(integrator, timeStep)
+                ));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs the standard ride, and returns its angle at every sample.
+     *
+     * @param integrator The integrator that steps the pendulum.
+     * @param timeStep   The time step (seconds).
+     * @return The angles of the ride (radians).
+     */
+    private static double[] ride(Integrator integrator, double timeStep) {
+        Pendulum pendulum = new Pendulum(integrator);
+        int stepsPerSample = (int) Math.round(SAMPLE_INTERVAL / timeStep);
+        double[] angles = new double[(int) Math.round((SEATED_TIME + SLOWING_TIME) / SAMPLE_INTERVAL)];
+        long steps = 0;
+        for (int i = 0; i < angles.length; i++) {
+            for (int j = 0; j < stepsPerSample; j++) {
+                steps++;
+                double time = steps * timeStep;
+                if (time > SEATED_TIME) {
+                    pendulum.setAmplitude(0);
+                    pendulum.setDamping(Swing.DECELERATION_DAMPING);
+                } else if (time >= Swing.ACCELERATION_TIME) {
+                    pendulum.setAmplitude(0);
+                    pendulum.setDamping(Swing.NORMAL_DAMPING);
+                } else {
+                    pendulum.setAmplitude(Swing.ACCELERATION_AMPLITUDE);
+                }
+                pendulum.update(timeStep);
+            }
+            angles[i] = pendulum.getAngle();
+        }
+        return angles;
+    }
+
+    /**
+     * Swings an undamped pendulum, and returns how much its energy has changed.
+     *
+     * @param integrator The integrator that steps the pendulum.
+     * @param timeStep   The time step (seconds).
+     * @return The relative change of the energy.
+     */
+    private static double energyDrift(Integrator integrator, double timeStep) {
+        Integrator.State state = new Integrator.State(ENERGY_START_ANGLE, 0, 0);
+        Integrator.Acceleration acceleration = (angle, angularVelocity, time) -> -Pendulum.GRAVITY / Pendulum.LENGTH * Math.sin(angle);
+        double start = energy(state);
+        long steps = Math.round(ENERGY_TIME / timeStep);
+        for (long i = 0; i < steps; i++) {
+            integrator.step(state, acceleration, timeStep);
+        }
+        double drift = (energy(state) - start) / start;
+        return Double.isNaN(drift) ? Double.POSITIVE_INFINITY : drift;
+    }
+
+    /**
+     * Returns the energy of an undamped pendulum per unit of inertia.
+     *
+     * @param state The state of the pendulum.
+     * @return The energy of the pendulum.
+     */
+    private static double energy(Integrator.State state) {
+        return 0.5 * state.angularVelocity * state.angularVelocity
+                + Pendulum.GRAVITY / Pendulum.LENGTH * (1 - Math.cos(state.angle));
+    }
+
+    /**
+     * Times the steps of a driven pendulum.
+     *
+     * @param integrator The integrator that steps the pendulum.
+     * @param timeStep   The time step (seconds).
+     * @return The time of one step (nanoseconds).
+     */
+    private static double time(Integrator integrator, double timeStep) {
+        Pendulum pendulum = new Pendulum(integrator);
+        pendulum.setAmplitude(Swing.ACCELERATION_AMPLITUDE);
+        pendulum.setDamping(Swing.NORMAL_DAMPING);
+        double sink = 0;
+        for (int i = 0; i < WARMUP_STEPS; i++) {
+            pendulum.update(timeStep);
+            sink += pendulum.getAngle();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMED_STEPS; i++) {
+            pendulum.update(timeStep);
+            sink += pendulum.getAngle();
+        }
+        long end = System.nanoTime();
+        blackhole = sink;
+        return (double) (end - start) / TIMED_STEPS;
+    }
+}
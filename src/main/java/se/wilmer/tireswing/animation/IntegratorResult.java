@@ -0,0 +1,21 @@
+package se.wilmer.tireswing.animation;
+
+/**
+ * The accuracy and cost of an integrator at one time step.
+ *
+ * @param integrator    The name of the integrator.
+ * @param timeStep      The time step (seconds).
+ * @param maxAngleError The largest difference from the reference ride (radians).
+ * @param energyDrift   The relative change of the energy of an undamped pendulum.
+ * @param nanosPerStep  The time of one step (nanoseconds).
+ */
+public record IntegratorResult(String integrator, double timeStep, double maxAngleError, double energyDrift, double nanosPerStep) {
+    /**
+     * Returns the time it takes to simulate one second.
+     *
+     * @return The time of one simulated second (nanoseconds).
+     */
+    public double nanosPerSecond() {
+        return nanosPerStep / timeStep;
+    }
+}
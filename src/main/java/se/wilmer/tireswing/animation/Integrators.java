@@ -0,0 +1,104 @@
+package se.wilmer.tireswing.animation;
+
+import java.util.Locale;
+
+/**
+ * The integrators a pendulum can be stepped with.
+ */
+public enum Integrators implements Integrator {
+    /**
+     * Explicit Euler, the original integrator of the swing.
+     * <p>
+     * The acceleration is taken at the end of the step, so recorded rides replay exactly.
+     * It gains energy every step, and is only stable because of the damping.
+     */
+    EULER {
+        @Override
+        public void step(State state, Acceleration acceleration, double dt) {
+            state.time += dt;
+            double angularAcceleration = acceleration.at(state.angle, state.angularVelocity, state.time);
+            state.angle += state.angularVelocity * dt;
+            state.angularVelocity += angularAcceleration * dt;
+        }
+    },
+
+    /**
+     * Semi-implicit (symplectic) Euler, that moves the angle with the new velocity.
+     * <p>
+     * It costs the same as explicit Euler, but its energy stays bounded without damping.
+     */
+    SEMI_IMPLICIT_EULER {
+        @Override
+        public void step(State state, Acceleration acceleration, double dt) {
+            state.angularVelocity += acceleration.at(state.angle, state.angularVelocity, state.time) * dt;
+            state.angle += state.angularVelocity * dt;
+            state.time += dt;
+        }
+    },
+
+    /**
+     * Velocity Verlet, second order and energy stable, with two accelerations per step.
+     * <p>
+     * The damping needs the velocity at the end of the step, which is estimated by the half step velocity.
+     */
+    VERLET {
+        @Override
+        public void step(State state, Acceleration acceleration, double dt) {
+            double halfDt = dt / 2;
+            double angularAcceleration = acceleration.at(state.angle, state.angularVelocity, state.time);
+            double halfVelocity = state.angularVelocity + angularAcceleration * halfDt;
+            state.angle += halfVelocity * dt;
+            state.time += dt;
+            state.angularVelocity = halfVelocity + acceleration.at(state.angle, halfVelocity, state.time) * halfDt;
+        }
+    },
+
+    /**
+     * The classic fourth order Runge-Kutta, the most accurate with four accelerations per step.
+     */
+    RK4 {
+        @Override
+        public void step(State state, Acceleration acceleration, double dt) {
+            double halfDt = dt / 2;
+            double angle = state.angle;
+            double velocity = state.angularVelocity;
+            double time = state.time;
+
+            double a1 = acceleration.at(angle, velocity, time);
+            double v2 = velocity + a1 * halfDt;
+            double a2 = acceleration.at(angle + velocity * halfDt, v2, time + halfDt);
+            double v3 = velocity + a2 * halfDt;
+            double a3 = acceleration.at(angle + v2 * halfDt, v3, time + halfDt);
+            double v4 = velocity + a3 * dt;
+            double a4 = acceleration.at(angle + v3 * dt, v4, time + dt);
+
+            state.angle = angle + (velocity + 2 * v2 + 2 * v3 + v4) * dt / 6;
+            state.angularVelocity = velocity + (a1 + 2 * a2 + 2 * a3 + a4) * dt / 6;
+            state.time = time + dt;
+        }
+    };
+
+    /**
+     * Returns the integrator with the given name.
+     *
+     * @param name The name of the integrator, in any case.
+     * @return The integrator, or null if there is no integrator with the name.
+     */
+    public static Integrators byName(String name) {
+        for (Integrators integrator : values()) {
+            if (integrator.name().equalsIgnoreCase(name)) {
+                return integrator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the integrator, as it is written in the configuration.
+     *
+     * @return The name of the integrator.
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
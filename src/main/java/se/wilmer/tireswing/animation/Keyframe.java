@@ -0,0 +1,10 @@
+package se.wilmer.tireswing.animation;
+
+/**
+ * A keyframe of the swing, that the client interpolates to.
+ *
+ * @param angle    The angle of the swing at the keyframe (radians).
+ * @param duration The time the client interpolates from the previous keyframe to this one (ticks).
+ */
+public record Keyframe(double angle, int duration) {
+}
@@ -0,0 +1,116 @@
+package se.wilmer.tireswing.animation;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import se.wilmer.tireswing.model.TransformBuffer;
+
+final class PartState {
+    /**
+     * The largest difference of a matrix element that still counts as unchanged.
+     */
+    private static final float EPSILON = 1.0E-4f;
+
+    /**
+     * The buffer that holds the last transformation matrix that was sent for the part.
+     */
+    private final TransformBuffer matrices;
+
+    /**
+     * The slot of the part in the buffer.
+     */
+    private final int slot;
+
+    /**
+     * If a transformation matrix has been sent for the part.
+     */
+    private boolean sent = false;
+
+    /**
+     * The last interpolation duration that was sent for the part, or -1 if none was sent.
+     */
+    private int interpolationDuration = -1;
+
+    /**
+     * The view range of the part before it was hidden.
+     */
+    private float viewRange = 1.0f;
+
+    /**
+     * Creates a new PartState instance.
+     *
+     * @param matrices The buffer that holds the last transformation matrix that was sent for the part.
+     * @param slot     The slot of the part in the buffer.
+     */
+    PartState(TransformBuffer matrices, int slot) {
+        this.matrices = matrices;
+        this.slot = slot;
+    }
+
+    /**
+     * Updates the last sent transformation matrix if the given matrix has changed.
+     *
+     * @param matrix The new transformation matrix.
+     * @return if the matrix has changed and should be sent.
+     */
+    boolean updateMatrix(Matrix4fc matrix) {
+        if (sent && matrices.equals(slot, matrix, EPSILON)) {
+            return false;
+        }
+        matrices.set(slot, matrix);
+        sent = true;
+        return true;
+    }
+
+    /**
+     * Updates the last sent interpolation duration if the given duration has changed.
+     *
+     * @param interpolationDuration The new interpolation duration.
+     * @return if the duration has changed and should be sent.
+     */
+    boolean updateInterpolationDuration(int interpolationDuration) {
+        if (this.interpolationDuration == interpolationDuration) {
+            return false;
+        }
+        this.interpolationDuration = interpolationDuration;
+        return true;
+    }
+
+    /**
+     * Takes over the last sent state of another part state.
+     *
+     * @param other The part state to copy.
+     */
+    void copy(PartState other) {
+        sent = other.sent;
+        if (sent) {
+            matrices.set(slot, other.matrices.get(other.slot, new Matrix4f()));
+        }
+        interpolationDuration = other.interpolationDuration;
+        viewRange = other.viewRange;
+    }
+
+    /**
+     * Forgets the last sent transformation matrix, so the next matrix is always sent.
+     */
+    void reset() {
+        sent = false;
+    }
+
+    /**
+     * Returns the view range of the part before it was hidden.
+     *
+     * @return The view range of the part before it was hidden.
+     */
+    float getViewRange() {
+        return viewRange;
+    }
+
+    /**
+     * Sets the view range of the part before it was hidden.
+     *
+     * @param viewRange The view range of the part before it was hidden.
+     */
+    void setViewRange(float viewRange) {
+        this.viewRange = viewRange;
+    }
+}
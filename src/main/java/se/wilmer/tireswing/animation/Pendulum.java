@@ -4,12 +4,12 @@ public final class Pendulum {
     /**
      * Gravitational constant (m/s^2).
      */
-    private static final double GRAVITY = 9.81;
+    static final double GRAVITY = 9.81;
 
     /**
      * Length of the pendulum (meters).
      */
-    private static final double LENGTH = 1.0;
+    static final double LENGTH = 1.0;
 
     /**
      * Mass of the bob (kilograms).
@@ -24,93 +24,117 @@ public final class Pendulum {
     /**
      * Time step for simulation (seconds).
      */
-    private static final double TIME_STAMP = 0.05;
+    static final double TIME_STAMP = 0.05;
 
     /**
-     * Current angle of the pendulum (radians).
+     * Gravity divided by the length of the pendulum (1/s^2).
      */
-    private double angle;
+    private static final double GRAVITY_OVER_LENGTH = GRAVITY / LENGTH;
 
     /**
-     * Current angular velocity of the pendulum (radians/second).
+     * Moment of inertia of the bob (kilograms * meters^2).
      */
-    private double angularVelocity;
+    private static final double INERTIA = MASS * LENGTH * LENGTH;
 
     /**
-     * Amplitude of the driving force.
+     * The largest angle before the angle wraps around (radians).
      */
-    private double amplitude;
+    private static final double WRAP_ANGLE = Math.toRadians(270);
 
     /**
-     * Damping factor (controls how quickly the pendulum loses energy).
+     * The integrator that steps the pendulum.
      */
-    private double damping;
+    private final Integrator integrator;
 
     /**
-     * Current simulation time (seconds).
+     * The angle, angular velocity and simulation time of the pendulum.
      */
-    private double time;
+    private final Integrator.State state = new Integrator.State(0, 0, 0);
 
-    public Pendulum() {
-        this.angle = Math.toRadians(0);
-        this.angularVelocity = 0;
-        this.amplitude = 0;
-        this.damping = 0;
-        this.time = 0;
-    }
+    /**
+     * The angular acceleration of the pendulum, bound once so a step allocates nothing.
+     */
+    private final Integrator.Acceleration acceleration = this::calculateAngularAcceleration;
 
     /**
-     * Updates the state of the pendulum.
-     * This method should be called repeatedly to simulate the pendulum's motion.
+     * Damping divided by the moment of inertia (1/s).
      */
-    public void update() {
-        time += TIME_STAMP;
+    private double dampingRate;
 
-        double angularAcceleration = calculateAngularAcceleration();
+    /**
+     * Driving amplitude divided by the moment of inertia (radians/second^2).
+     */
+    private double drive;
 
-        updateAngle();
-        updateVelocity(angularAcceleration);
+    /**
+     * Creates a new Pendulum instance, stepped with explicit Euler.
+     */
+    public Pendulum() {
+        this(Integrators.EULER);
     }
 
     /**
-     * Calculates the angular acceleration of the pendulum based on the
-     * current angle, angular velocity, and driving force.
+     * Creates a new Pendulum instance.
      *
-     * @return Angular acceleration of the pendulum (radians/second^2).
+     * @param integrator The integrator that steps the pendulum.
      */
-    private double calculateAngularAcceleration() {
-        return -(GRAVITY / LENGTH) * Math.sin(angle)
-                - (damping / (MASS * Math.pow(LENGTH, 2))) * angularVelocity
-                + (amplitude / (MASS * Math.pow(LENGTH, 2))) * Math.cos(DRIVE_FREQUENCY * time);
+    public Pendulum(Integrator integrator) {
+        this.integrator = integrator;
     }
 
     /**
-     * Updates the angle of the pendulum based on the current angular velocity
-     * and time step.
+     * Returns the angular acceleration of a pendulum without a driving force, for small angles.
+     * <p>
+     * For small angles sin(angle) is close to the angle, so the pendulum is a linear oscillator.
+     *
+     * @param damping Damping factor.
+     * @return The angular acceleration of the linear oscillator.
      */
-    private void updateAngle() {
-        angle += angularVelocity * TIME_STAMP;
-        angle = Math.IEEEremainder(angle, Math.toRadians(270));
+    static Integrator.Acceleration linearAcceleration(double damping) {
+        double dampingRate = damping / INERTIA;
+        return (angle, angularVelocity, time) -> -GRAVITY_OVER_LENGTH * angle - dampingRate * angularVelocity;
     }
 
     /**
-     * Updates the angular velocity of the pendulum based on the calculated
-     * angular acceleration and time step.
+     * Updates the state of the pendulum.
+     * This method should be called repeatedly to simulate the pendulum's motion.
+     */
+    public void update() {
+        update(TIME_STAMP);
+    }
+
+    /**
+     * Updates the state of the pendulum with the given time step.
      *
-     * @param angularAcceleration Angular acceleration of the pendulum (radians/second^2).
+     * @param timeStep The time step (seconds).
+     */
+    void update(double timeStep) {
+        integrator.step(state, acceleration, timeStep);
+        state.angle = Math.IEEEremainder(state.angle, WRAP_ANGLE);
+    }
+
+    /**
+     * Calculates the angular acceleration of the pendulum based on the
+     * given angle, angular velocity, and driving force.
+     *
+     * @param angle           The angle (radians).
+     * @param angularVelocity The angular velocity (radians/second).
+     * @param time            The simulation time (seconds).
+     * @return Angular acceleration of the pendulum (radians/second^2).
      */
-    private void updateVelocity(double angularAcceleration) {
-        angularVelocity += angularAcceleration * TIME_STAMP;
+    private double calculateAngularAcceleration(double angle, double angularVelocity, double time) {
+        return -GRAVITY_OVER_LENGTH * Math.sin(angle)
+                - dampingRate * angularVelocity
+                + drive * Math.cos(DRIVE_FREQUENCY * time);
     }
 
     /**
-     /**
      * Gets the current angle of the pendulum in radians.
      *
      * @return Current angle of the pendulum.
      */
     public double getAngle() {
-        return angle;
+        return state.angle;
     }
 
     /**
@@ -119,7 +143,7 @@ public final class Pendulum {
      * @return Current angular velocity of the pendulum.
      */
     public double getAngularVelocity() {
-        return angularVelocity;
+        return state.angularVelocity;
     }
 
     /**
@@ -128,7 +152,7 @@ public final class Pendulum {
      * @param damping Damping factor (0 for no damping, higher values for stronger damping).
      */
     public void setDamping(double damping) {
-        this.damping = damping;
+        this.dampingRate = damping / INERTIA;
     }
 
     /**
@@ -137,6 +161,6 @@ public final class Pendulum {
      * @param amplitude Amplitude of the driving force.
      */
     public void setAmplitude(double amplitude) {
-        this.amplitude = amplitude;
+        this.drive = amplitude / INERTIA;
     }
 }
\ No newline at end of file
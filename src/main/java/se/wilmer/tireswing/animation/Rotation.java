@@ -1,21 +1,124 @@
 package se.wilmer.tireswing.animation;
 
-import io.papermc.paper.entity.TeleportFlag;
 import org.bukkit.Location;
+import org.bukkit.craftbukkit.entity.CraftEntity;
 import org.bukkit.entity.ItemDisplay;
-import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.util.Transformation;
 import org.joml.Matrix4f;
-import se.wilmer.tireswing.model.ModelEntity;
 import se.wilmer.tireswing.model.Model;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.model.TransformBuffer;
+import se.wilmer.tireswing.network.FrameBundle;
 
 public final class Rotation {
-    private final Model tireModel;
-    private final Model ropeModel;
+    /**
+     * The default interpolation duration of a frame (ticks).
+     */
+    private static final int INTERPOLATION_DURATION = 1;
+
+    /**
+     * The smallest distance the main item display has to move to be updated.
+     */
+    private static final double MOVE_EPSILON = 1.0E-3;
+
+    /**
+     * The item displays of the tire model, or null entries if the rotation is headless.
+     */
+    private ItemDisplay[] tireDisplays;
+
+    /**
+     * The template of the tire model.
+     */
+    private ModelTemplate tireTemplate;
+
+    /**
+     * The item displays of the rope model, or null entries if the rotation is headless.
+     */
+    private ItemDisplay[] ropeDisplays;
+
+    /**
+     * The template of the rope model.
+     */
+    private ModelTemplate ropeTemplate;
+
     private final ItemDisplay itemDisplay;
     private final Location center;
     private final double radius;
 
+    /**
+     * If the main item display should stay at the center while it has no rider.
+     */
+    private final boolean staticRoot;
+
+    /**
+     * The bundle that collects the display updates of a frame, or null if the rotation is headless.
+     */
+    private final FrameBundle frameBundle;
+
+    /**
+     * The last sent transformation matrix of every part, the rope parts first and then the tire parts.
+     */
+    private TransformBuffer sentMatrices;
+
+    /**
+     * The last sent state of each rope model entity.
+     */
+    private PartState[] ropeStates;
+
+    /**
+     * The last sent state of each tire model entity.
+     */
+    private PartState[] tireStates;
+
+    /**
+     * The matrix that the transformations of a frame are calculated in, reused so a frame allocates nothing.
+     */
+    private final Matrix4f matrix4f = new Matrix4f();
+
+    /**
+     * The angle of the last frame (radians).
+     */
+    private double radian = 0;
+
+    /**
+     * The interpolation duration of the last frame (ticks).
+     */
+    private int interpolationDuration = INTERPOLATION_DURATION;
+
+    /**
+     * If every other part is hidden and no longer updated.
+     */
+    private boolean reducedParts = false;
+
+    /**
+     * The teleport duration of the main item display (ticks).
+     */
+    private int teleportDuration = 0;
+
+    /**
+     * If the main item display is carrying a rider.
+     */
+    private boolean seated;
+
+    /**
+     * The last height of the main item display relative to the center.
+     */
+    private double rootY = 0;
+
+    /**
+     * The last depth of the main item display relative to the center.
+     */
+    private double rootZ = 0;
+
+    /**
+     * The number of display updates in the last frame.
+     */
+    private int frameUpdates;
+
+    /**
+     * If the main item display was moved in the last frame.
+     */
+    private boolean frameMoved;
+
     /**
      * Creates a new Rotation instance.
      *
@@ -24,13 +127,131 @@ public final class Rotation {
      * @param itemDisplay The main itemDisplay.
      * @param center The location of the center.
      * @param radius The radius of the rotation.
+     * @param staticRoot If the main item display should stay at the center while it has no rider.
+     * @param frameBundle The bundle that collects the display updates of a frame.
      */
-    public Rotation(Model tireModel, Model ropeModel, ItemDisplay itemDisplay, Location center, double radius) {
-        this.tireModel = tireModel;
-        this.ropeModel = ropeModel;
+    public Rotation(Model tireModel, Model ropeModel, ItemDisplay itemDisplay, Location center, double radius, boolean staticRoot, FrameBundle frameBundle) {
+        this.tireDisplays = getDisplays(tireModel);
+        this.tireTemplate = tireModel.getTemplate();
+        this.ropeDisplays = getDisplays(ropeModel);
+        this.ropeTemplate = ropeModel.getTemplate();
         this.itemDisplay = itemDisplay;
         this.center = center;
         this.radius = radius;
+        this.staticRoot = staticRoot;
+        this.frameBundle = frameBundle;
+        this.sentMatrices = new TransformBuffer(ropeDisplays.length + tireDisplays.length);
+        this.ropeStates = createStates(sentMatrices, 0, ropeDisplays.length);
+        this.tireStates = createStates(sentMatrices, ropeDisplays.length, tireDisplays.length);
+        itemDisplay.setTeleportDuration(0);
+    }
+
+    /**
+     * Creates a new headless Rotation instance, that calculates and counts the frames without any entities.
+     *
+     * @param tireTemplate The template of the tire model.
+     * @param ropeTemplate The template of the rope model.
+     * @param radius The radius of the rotation.
+     * @param staticRoot If the main item display should stay at the center while it has no rider.
+     */
+    private Rotation(ModelTemplate tireTemplate, ModelTemplate ropeTemplate, double radius, boolean staticRoot) {
+        this.tireDisplays = new ItemDisplay[tireTemplate.size()];
+        this.tireTemplate = tireTemplate;
+        this.ropeDisplays = new ItemDisplay[ropeTemplate.size()];
+        this.ropeTemplate = ropeTemplate;
+        this.itemDisplay = null;
+        this.center = null;
+        this.radius = radius;
+        this.staticRoot = staticRoot;
+        this.frameBundle = null;
+        this.sentMatrices = new TransformBuffer(ropeDisplays.length + tireDisplays.length);
+        this.ropeStates = createStates(sentMatrices, 0, ropeDisplays.length);
+        this.tireStates = createStates(sentMatrices, ropeDisplays.length, tireDisplays.length);
+    }
+
+    /**
+     * Creates a new headless Rotation instance, that calculates and counts the frames without any entities.
+     *
+     * @param tireTemplate The template of the tire model.
+     * @param ropeTemplate The template of the rope model.
+     * @param radius The radius of the rotation.
+     * @param staticRoot If the main item display should stay at the center while it has no rider.
+     * @return The created headless rotation.
+     */
+    public static Rotation headless(ModelTemplate tireTemplate, ModelTemplate ropeTemplate, double radius, boolean staticRoot) {
+        return new Rotation(tireTemplate, ropeTemplate, radius, staticRoot);
+    }
+
+    /**
+     * Returns the item displays of the model.
+     *
+     * @param model The model.
+     * @return The item displays.
+     */
+    private static ItemDisplay[] getDisplays(Model model) {
+        ItemDisplay[] displays = new ItemDisplay[model.size()];
+        for (int i = 0; i < displays.length; i++) {
+            displays[i] = model.getItemDisplay(i);
+        }
+        return displays;
+    }
+
+    /**
+     * Creates the given number of empty states, with consecutive slots in the buffer of sent matrices.
+     *
+     * @param matrices  The buffer of the last sent transformation matrices.
+     * @param firstSlot The slot of the first state.
+     * @param count     The number of states to create.
+     * @return The created states.
+     */
+    private static PartState[] createStates(TransformBuffer matrices, int firstSlot, int count) {
+        PartState[] states = new PartState[count];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new PartState(matrices, firstSlot + i);
+        }
+        return states;
+    }
+
+    /**
+     * Creates the given number of states, with consecutive slots in the buffer of sent matrices,
+     * that keep the last sent state of the part with the same index.
+     *
+     * @param matrices  The buffer of the last sent transformation matrices.
+     * @param firstSlot The slot of the first state.
+     * @param count     The number of states to create.
+     * @param previous  The earlier states of the parts.
+     * @return The created states.
+     */
+    private static PartState[] createStates(TransformBuffer matrices, int firstSlot, int count, PartState[] previous) {
+        PartState[] states = createStates(matrices, firstSlot, count);
+        for (int i = 0; i < Math.min(count, previous.length); i++) {
+            states[i].copy(previous[i]);
+        }
+        return states;
+    }
+
+    /**
+     * Changes the models of the rotation, after their templates have changed.
+     * <p>
+     * A part that is in both the old and the new model keeps its last sent state, so it is only
+     * updated if its transformation has changed. The last frame is then calculated again with
+     * the new models, and should be flushed before the entity tracker sends the base transformations.
+     * The first tire part must be the same main item display, and the parts must not be reduced.
+     *
+     * @param tireModel The tire model used.
+     * @param ropeModel The rope model used.
+     */
+    public void setModels(Model tireModel, Model ropeModel) {
+        ItemDisplay[] displays = getDisplays(ropeModel);
+        TransformBuffer matrices = new TransformBuffer(displays.length + tireModel.size());
+        ropeStates = createStates(matrices, 0, displays.length, ropeStates);
+        tireStates = createStates(matrices, displays.length, tireModel.size(), tireStates);
+        sentMatrices = matrices;
+        ropeDisplays = displays;
+        ropeTemplate = ropeModel.getTemplate();
+        tireDisplays = getDisplays(tireModel);
+        tireTemplate = tireModel.getTemplate();
+        rotate(radian, interpolationDuration);
     }
 
     /**
@@ -38,113 +259,253 @@ public final class Rotation {
      */
     public void resetRotation() {
         rotate(Math.toRadians(0));
+        flush();
     }
 
     /**
      * Rotates the animation by the giving radian.
+     * <p>
+     * While the main item display is static, the orbit of the tire is part of the tire transformations
+     * and the main item display is never moved. A rider can only follow the position of its vehicle,
+     * so the main item display is moved to the tire while it is seated.
+     * <p>
+     * Only the displays that have changed since the last frame are updated,
+     * and their updates are collected until the frame is flushed.
      *
      * @param radian The specified radius for the animation
      */
     public void rotate(double radian) {
-        Matrix4f matrix4f = new Matrix4f();
-        rotateRopeModule(radian, matrix4f);
-        rotateTireModule(radian, matrix4f);
-        teleportTireModule(radian);
+        rotate(radian, INTERPOLATION_DURATION);
     }
 
     /**
-     * Rotates the rope model around its axis by the specified radian.
+     * Rotates the animation by the giving radian, interpolated by the client over the given duration.
+     *
+     * @param radian The specified radius for the animation
+     * @param interpolationDuration The duration the client interpolates to the new rotation (ticks).
+     * @see #rotate(double)
+     */
+    public void rotate(double radian, int interpolationDuration) {
+        this.radian = radian;
+        this.interpolationDuration = interpolationDuration;
+        boolean orbit = staticRoot && !seated;
+        frameUpdates = 0;
+
+        rotateRopeModule(radian, matrix4f, interpolationDuration);
+        rotateTireModule(radian, matrix4f, orbit, interpolationDuration);
+
+        if (orbit) {
+            frameMoved = moveTireModule(0, 0);
+        } else {
+            double tireRadian = -(radian + Math.toRadians(90));
+            frameMoved = moveTireModule(Math.sin(tireRadian) * radius, Math.cos(tireRadian) * radius);
+        }
+    }
+
+    /**
+     * Sends the updates of the frame to each viewer as one bundle.
+     */
+    public void flush() {
+        if (frameBundle != null) {
+            frameBundle.flush();
+        }
+    }
+
+    /**
+     * Sets whether the main item display is carrying a rider.
      * <p>
-     * This method calculates the new transformation matrix for each model entity in the rope model,
-     * and sets the interpolation duration and delay for the item display, and applies the new matrix.
+     * The change is applied by the next call to {@link #rotate(double)}.
      *
-     * @param radian The angle in radians to rotate the rope.
-     * @param matrix4f A {@link Matrix4f} instance.
+     * @param seated if the main item display is carrying a rider.
+     */
+    public void setSeated(boolean seated) {
+        this.seated = seated;
+    }
+
+    /**
+     * Sets the teleport duration of the main item display, that the client moves it over.
+     *
+     * @param teleportDuration The teleport duration (ticks).
      */
-    private void rotateRopeModule(double radian, Matrix4f matrix4f) {
-        for (ModelEntity modelEntity : ropeModel.getModelEntities()) {
-            ItemDisplay itemDisplay = modelEntity.itemDisplay();
-            Matrix4f matrix = createTransformationMatrix(matrix4f, modelEntity, radian);
-            itemDisplay.setTransformationMatrix(matrix);
-            itemDisplay.setInterpolationDelay(0);
-            itemDisplay.setInterpolationDuration(1);
+    public void setTeleportDuration(int teleportDuration) {
+        if (this.teleportDuration == teleportDuration) {
+            return;
+        }
+        this.teleportDuration = teleportDuration;
+        if (itemDisplay != null) {
+            itemDisplay.setTeleportDuration(teleportDuration);
         }
     }
 
     /**
-     * Creates a transformation matrix for a model entity.
+     * Sets whether every other part is hidden and no longer updated.
+     * <p>
+     * A part is hidden by setting its view range to zero, and the view range is restored
+     * when it is shown again. The first tire part is never hidden, since it is the main item display.
+     * The change is sent with the next frame.
+     *
+     * @param reducedParts if every other part should be hidden.
+     */
+    public void setReducedParts(boolean reducedParts) {
+        if (this.reducedParts == reducedParts) {
+            return;
+        }
+        this.reducedParts = reducedParts;
+        setReducedParts(tireDisplays, tireStates, reducedParts);
+        setReducedParts(ropeDisplays, ropeStates, reducedParts);
+    }
+
+    /**
+     * Hides or shows every other part of a model.
+     *
+     * @param displays     The item displays of the model.
+     * @param states       The last sent states of the item displays.
+     * @param reducedParts if every other part should be hidden.
+     */
+    private void setReducedParts(ItemDisplay[] displays, PartState[] states, boolean reducedParts) {
+        for (int i = 1; i < displays.length; i += 2) {
+            states[i].reset();
+            ItemDisplay display = displays[i];
+            if (display == null) {
+                continue;
+            }
+            if (reducedParts) {
+                states[i].setViewRange(display.getViewRange());
+                display.setViewRange(0);
+            } else {
+                display.setViewRange(states[i].getViewRange());
+            }
+            frameBundle.add(display);
+        }
+    }
+
+    /**
+     * Returns if a part is hidden and no longer updated.
+     *
+     * @param index The index of the part.
+     * @return if the part is hidden.
+     */
+    private boolean isHidden(int index) {
+        return reducedParts && index % 2 == 1;
+    }
+
+    /**
+     * Returns the number of display updates in the last frame.
+     *
+     * @return The number of display updates in the last frame.
+     */
+    public int getFrameUpdates() {
+        return frameUpdates;
+    }
+
+    /**
+     * Returns if the main item display was moved in the last frame.
+     *
+     * @return if the main item display was moved in the last frame.
+     */
+    public boolean isFrameMoved() {
+        return frameMoved;
+    }
+
+    /**
+     * Rotates the rope model around its axis by the specified radian.
      * <p>
-     * This method calculates the transformation matrix for a given model entity by applying
-     * translation, scaling, left rotation, and a local X rotation.
+     * This method rotates the base matrix of each part in the rope model around the local X axis,
+     * and applies the new matrix with {@link #applyMatrix}.
      *
+     * @param radian The angle in radians to rotate the rope.
      * @param matrix4f A {@link Matrix4f} instance.
-     * @param modelEntity The model entity to create the transformation matrix for.
-     * @param radian The angle in radians to rotate the model entity.
-     * @return The calculated transformation matrix.
+     * @param interpolationDuration The interpolation duration (ticks).
      */
-    private Matrix4f createTransformationMatrix(Matrix4f matrix4f, ModelEntity modelEntity, double radian) {
-        Transformation transformation = modelEntity.modelData().transformation();
-        matrix4f.identity()
-                .translate(transformation.getTranslation())
-                .scale(transformation.getScale())
-                .rotate(transformation.getLeftRotation())
-                .rotateLocalX((float) radian);
-        return matrix4f;
+    private void rotateRopeModule(double radian, Matrix4f matrix4f, int interpolationDuration) {
+        for (int i = 0; i < ropeDisplays.length; i++) {
+            if (isHidden(i)) {
+                continue;
+            }
+            ropeTemplate.getBaseMatrix(i, matrix4f).rotateLocalX((float) radian);
+            applyMatrix(ropeDisplays[i], ropeStates[i], matrix4f, interpolationDuration);
+        }
     }
 
     /**
      * Rotates the tire model around its axis by the specified radian.
      * <p>
      * This method calculates the new transformation matrix for each model entity in the tire model,
-     * and sets the interpolation duration and delay for the item display, and applies the new matrix.
+     * and applies the new matrix with {@link #applyMatrix}.
+     * <p>
+     * With orbit, the tire is also moved down by the radius before the rotation,
+     * so it follows the circle around the center without moving the main item display.
      *
      * @param radian The angle in radians to rotate the tire.
      * @param matrix4f A {@link Matrix4f} instance.
+     * @param orbit If the orbit around the center should be part of the transformation.
+     * @param interpolationDuration The interpolation duration (ticks).
      */
-    private void rotateTireModule(double radian, Matrix4f matrix4f) {
-        tireModel.getModelEntities().forEach(modelEntity -> {
-            ItemDisplay itemDisplay = modelEntity.itemDisplay();
-            Transformation transformation = modelEntity.modelData().transformation();
-            matrix4f.identity()
-                    .translate(transformation.getTranslation())
-                    .scale(transformation.getScale())
-                    .rotate(transformation.getLeftRotation())
+    private void rotateTireModule(double radian, Matrix4f matrix4f, boolean orbit, int interpolationDuration) {
+        float offset = orbit ? (float) -radius : 0;
+        for (int i = 0; i < tireDisplays.length; i++) {
+            if (isHidden(i)) {
+                continue;
+            }
+            tireTemplate.getBaseMatrix(i, matrix4f)
+                    .translateLocal(0, offset, 0)
                     .rotateLocalX((float) radian);
 
-            itemDisplay.setTransformationMatrix(matrix4f);
-            itemDisplay.setInterpolationDelay(0);
-            itemDisplay.setInterpolationDuration(1);
-        });
+            applyMatrix(tireDisplays[i], tireStates[i], matrix4f, interpolationDuration);
+        }
     }
 
     /**
-     * Teleports the tire model to a new location based on the given radian.
+     * Applies a transformation matrix to an item display, if it differs from the last sent matrix.
      * <p>
-     * This method use {@link #calculateTireLocation} to calculate
-     * the new location of the tire based on the radian and teleports
-     * the item display to that location, with the retaining passengers flag.
+     * The interpolation delay is always sent with a new matrix, since it is what restarts
+     * the interpolation on the client. The interpolation duration is only sent when it has changed.
      *
-     * @param radian The angle in radians to calculate the new location.
+     * @param itemDisplay The item display to apply the matrix to, or null if the rotation is headless.
+     * @param state The last sent state of the item display.
+     * @param matrix The transformation matrix to apply.
+     * @param interpolationDuration The interpolation duration (ticks).
      */
-    private void teleportTireModule(double radian) {
-        itemDisplay.setTeleportDuration(0);
-        Location location = calculateTireLocation(-(radian + Math.toRadians(90)));
-        itemDisplay.teleport(location, PlayerTeleportEvent.TeleportCause.PLUGIN, TeleportFlag.EntityState.RETAIN_PASSENGERS);
+    private void applyMatrix(ItemDisplay itemDisplay, PartState state, Matrix4f matrix, int interpolationDuration) {
+        if (!state.updateMatrix(matrix)) {
+            return;
+        }
+        boolean durationChanged = state.updateInterpolationDuration(interpolationDuration);
+        frameUpdates++;
+        if (itemDisplay == null) {
+            return;
+        }
+
+        if (durationChanged) {
+            itemDisplay.setInterpolationDuration(interpolationDuration);
+        }
+        itemDisplay.setTransformationMatrix(matrix);
+        itemDisplay.setInterpolationDelay(0);
+        frameBundle.add(itemDisplay);
     }
 
     /**
-     * Calculates the location of the tire based on the given radian.
+     * Moves the main item display of the tire model relative to the center, if it differs from the last position.
      * <p>
-     * This method calculates the X and Z coordinates of the tire's location based on the radian and radius,
-     * and creates a new Location object with the calculated coordinates.
+     * The position is set directly on the server entity, so no teleport is handled by Bukkit.
+     * The entity tracker sends the movement and the client moves the passengers with it.
      *
-     * @param radian The angle in radians to calculate the location.
-     * @return The calculated location of the tire.
+     * @param y The height relative to the center.
+     * @param z The depth relative to the center.
+     * @return if the main item display was moved.
      */
-    private Location calculateTireLocation(double radian) {
-        double z = Math.cos(radian) * radius;
-        double y = Math.sin(radian) * radius;
+    private boolean moveTireModule(double y, double z) {
+        if (Math.abs(y - rootY) < MOVE_EPSILON && Math.abs(z - rootZ) < MOVE_EPSILON) {
+            return false;
+        }
+        rootY = y;
+        rootZ = z;
+        if (itemDisplay == null) {
+            return true;
+        }
 
-        return center.clone().add(0, y, z);
+        ((CraftEntity) itemDisplay).getHandle().setPos(center.getX(), center.getY() + y, center.getZ() + z);
+        frameBundle.recordMove(itemDisplay);
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,29 @@
 package se.wilmer.tireswing.animation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public final class Swing {
     /**
-     * The total time that the swing is accelerating.
+     * The total time that the swing is accelerating (seconds).
+     */
+    static final double ACCELERATION_TIME = 1.5;
+    /**
+     * The maximum number of pendulum steps that are run in one tick to catch up with the wall-clock time.
      */
-    private static final int ACCELERATION_TIME = 30;
+    private static final int MAX_STEPS = 4;
     /**
      * The default damping.
      */
-    private static final double NORMAL_DAMPING = 0.5;
+    static final double NORMAL_DAMPING = 0.5;
     /**
      * Damping to slow down the swing.
      */
-    private static final double DECELERATION_DAMPING = 1.2;
+    static final double DECELERATION_DAMPING = 1.2;
     /**
      * The amplitude to increase the speed of the swing.
      */
-    private static final double ACCELERATION_AMPLITUDE = 2.0;
+    static final double ACCELERATION_AMPLITUDE = 2.0;
     /**
      * The threshold that determines that the swing is still.
      */
@@ -25,43 +32,110 @@ public final class Swing {
      * The threshold that determines that the angle of the swing is small enough to count as still.
      */
     private static final double ANGLE_THRESHOLD = 0.01;
+    /**
+     * The amplitude below which the rest of the slowdown is solved in closed form (radians).
+     * <p>
+     * Below it, sin(angle) is within 1.5% of the angle, so the pendulum is close to a linear oscillator.
+     */
+    private static final double SETTLE_AMPLITUDE = 0.3;
+    /**
+     * The amplitude at which the closed form slowdown ends at rest (radians).
+     */
+    private static final double REST_AMPLITUDE = 0.02;
     /**
      * The instance of the pendulum.
      */
     private final Pendulum pendulum;
+    /**
+     * The fixed timestep of the pendulum, driven by the wall-clock time.
+     */
+    private final FixedTimestep timestep;
+    /**
+     * How the angle after one slowing step depends on the angle and the velocity before it, for small angles.
+     */
+    private final double[] settleStep;
+    /**
+     * The modulus of the eigenvalues of one slowing step, for small angles.
+     */
+    private final double settleModulus;
+    /**
+     * The cosine of the argument of the eigenvalues of one slowing step, which is below 1 while the swing oscillates.
+     */
+    private final double settleCosine;
     /**
      * Determine if the swing is slowing down.
      */
     private boolean slowing;
     /**
-     * The time since start.
+     * The number of pendulum steps since start.
      */
-    private double time;
+    private long steps;
 
     /**
-     * Creates a new instance of the swing
+     * Creates a new instance of the swing, stepped with explicit Euler
      */
     public Swing() {
-        time = 0;
+        this(Integrators.EULER);
+    }
+
+    /**
+     * Creates a new instance of the swing
+     *
+     * @param integrator The integrator that steps the pendulum.
+     */
+    public Swing(Integrator integrator) {
+        steps = 0;
         slowing = false;
-        pendulum = new Pendulum();
+        pendulum = new Pendulum(integrator);
+        timestep = new FixedTimestep(Pendulum.TIME_STAMP, MAX_STEPS);
+
+        Integrator.Acceleration linear = Pendulum.linearAcceleration(DECELERATION_DAMPING);
+        Integrator.State fromAngle = new Integrator.State(1, 0, 0);
+        Integrator.State fromVelocity = new Integrator.State(0, 1, 0);
+        integrator.step(fromAngle, linear, Pendulum.TIME_STAMP);
+        integrator.step(fromVelocity, linear, Pendulum.TIME_STAMP);
+        settleStep = new double[]{fromAngle.angle, fromVelocity.angle};
+        double determinant = fromAngle.angle * fromVelocity.angularVelocity - fromVelocity.angle * fromAngle.angularVelocity;
+        settleModulus = Math.sqrt(determinant);
+        settleCosine = (fromAngle.angle + fromVelocity.angularVelocity) / (2 * settleModulus);
+    }
+
+    /**
+     * Advances the swing to the given wall-clock time.
+     * <p>
+     * This method runs as many fixed steps of {@link #update()} as the wall-clock time has passed,
+     * so the swing keeps its real-time speed when the server is lagging.
+     * The number of steps is bounded, and it stops early if the swing has become still.
+     *
+     * @param now The current wall-clock time (nanoseconds), from {@link System#nanoTime()}.
+     * @return the number of steps that were run.
+     */
+    public int advance(long now) {
+        int count = timestep.advance(now);
+        for (int i = 0; i < count; i++) {
+            update();
+            if (isStill()) {
+                return i + 1;
+            }
+        }
+        return count;
     }
 
     /**
      * Updates the swing.
      * <p>
-     * This method increments the internal time counter and updates the pendulum's state based on the current time.
+     * This method advances the simulated time by one pendulum step and updates the pendulum's state based on the current time.
      * If the swing is slowing down, only the pendulum's state is updated. Otherwise, the pendulum's
      * amplitude is adjusted based on the acceleration time and the update method is called.
      */
     public void update() {
-        time++;
+        steps++;
 
         if (slowing) {
             pendulum.update();
             return;
         }
-        if (time >= ACCELERATION_TIME) {
+        if (getTime() >= ACCELERATION_TIME) {
             pendulum.setAmplitude(0);
             pendulum.setDamping(NORMAL_DAMPING);
         } else {
@@ -83,6 +157,54 @@ public final class Swing {
         slowing = true;
     }
 
+    /**
+     * Returns the rest of the slowdown as keyframes, once its amplitude is small enough.
+     * <p>
+     * For small angles, one step of the integrator is a linear map of (angle, velocity), so the angle
+     * after n steps is R * r^n * cos(n * w - phase), where r and w are the modulus and argument
+     * of the eigenvalues of the map.
+     * The keyframes are the turning points of that curve, one every half period, until the amplitude
+     * is below the rest amplitude, followed by a keyframe at rest. The swing itself is not advanced.
+     *
+     * @return The keyframes of the rest of the slowdown, or an empty list if the swing is not slowing down
+     * or its amplitude is too large.
+     */
+    public List<Keyframe> settle() {
+        if (!slowing || getTime() < ACCELERATION_TIME || !(Math.abs(settleCosine) < 1)) {
+            return List.of();
+        }
+        double dt = Pendulum.TIME_STAMP;
+        double modulus = settleModulus;
+        double argument = Math.acos(settleCosine);
+        double decay = -Math.log(modulus) / dt;
+        double frequency = argument / dt;
+
+        double angle = pendulum.getAngle();
+        double nextAngle = settleStep[0] * angle + settleStep[1] * pendulum.getAngularVelocity();
+        double sine = (nextAngle / modulus - angle * Math.cos(argument)) / Math.sin(argument);
+        double amplitude = Math.hypot(angle, sine);
+        if (amplitude >= SETTLE_AMPLITUDE) {
+            return List.of();
+        }
+
+        double phase = Math.atan2(sine, angle);
+        double turn = phase - Math.atan(decay / frequency);
+        double time = (turn + Math.ceil(-turn / Math.PI) * Math.PI) / frequency;
+        double halfPeriod = Math.PI / frequency;
+        List<Keyframe> keyframes = new ArrayList<>();
+        long tick = 0;
+        while (amplitude * Math.exp(-decay * time) >= REST_AMPLITUDE) {
+            long next = Math.max(tick + 1, Math.round(time / dt));
+            double keyframeAngle = amplitude * Math.exp(-decay * time) * Math.cos(frequency * time - phase);
+            keyframes.add(new Keyframe(keyframeAngle, (int) (next - tick)));
+            tick = next;
+            time += halfPeriod;
+        }
+        long rest = Math.max(tick + 1, Math.round((time - halfPeriod / 2) / dt));
+        keyframes.add(new Keyframe(0, (int) (rest - tick)));
+        return keyframes;
+    }
+
     /**
      * Determines if the swing is still.
      * <p>
@@ -94,7 +216,25 @@ public final class Swing {
     public boolean isStill() {
         return Math.abs(pendulum.getAngularVelocity()) < STILL_THRESHOLD &&
                 Math.abs(pendulum.getAngle()) < ANGLE_THRESHOLD &&
-                time >= ACCELERATION_TIME;
+                getTime() >= ACCELERATION_TIME;
+    }
+
+    /**
+     * Returns if the swing is slowing down.
+     *
+     * @return if the swing is slowing down.
+     */
+    public boolean isSlowing() {
+        return slowing;
+    }
+
+    /**
+     * Returns the simulated time since start.
+     *
+     * @return the simulated time since start (seconds).
+     */
+    private double getTime() {
+        return steps * Pendulum.TIME_STAMP;
     }
 
     /**
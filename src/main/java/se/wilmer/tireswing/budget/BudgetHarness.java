@@ -0,0 +1,222 @@
+package se.wilmer.tireswing.budget;
+
+import se.wilmer.tireswing.SwingTick;
+import se.wilmer.tireswing.animation.Integrators;
+import se.wilmer.tireswing.animation.Keyframe;
+import se.wilmer.tireswing.animation.Rotation;
+import se.wilmer.tireswing.metrics.SwingMetrics;
+import se.wilmer.tireswing.metrics.TickTimings;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.quality.QualityLevel;
+import se.wilmer.tireswing.quality.Staggering;
+import se.wilmer.tireswing.recording.RideRecorder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public final class BudgetHarness {
+    /**
+     * The number of rides that are run before measuring, so the tick path is compiled.
+     */
+    private static final int WARMUP_RIDES = 50;
+
+    /**
+     * The wall-clock time of one tick (nanoseconds).
+     */
+    private static final long TICK_NANOS = 50_000_000L;
+
+    /**
+     * The most ticks a ride may take before it is stopped.
+     */
+    private static final int MAX_RIDE_TICKS = 20 * 60 * 10;
+
+    /**
+     * The template of the tire model.
+     */
+    private final ModelTemplate tireTemplate;
+
+    /**
+     * The template of the rope model.
+     */
+    private final ModelTemplate ropeTemplate;
+
+    /**
+     * The radius of the swing.
+     */
+    private final double radius;
+
+    /**
+     * If the main item display stays at the center while it has no rider.
+     */
+    private final boolean staticRoot;
+
+    /**
+     * The integrator that steps the pendulum.
+     */
+    private final Integrators integrator;
+
+    /**
+     * The quality level the rides are played at.
+     */
+    private final QualityLevel quality;
+
+    /**
+     * The staggered frames while the swing has no rider, or null if it is not staggered.
+     */
+    private final Staggering staggering;
+
+    /**
+     * The recorder of the rides, or null if the rides are not recorded.
+     */
+    private final RideRecorder recorder;
+
+    /**
+     * The timings that the phases of the ticks are recorded in.
+     */
+    private final TickTimings timings = new TickTimings();
+
+    /**
+     * The metrics that the frames are recorded in.
+     */
+    private final SwingMetrics metrics = new SwingMetrics();
+
+    /**
+     * Creates a new BudgetHarness instance.
+     *
+     * @param tireTemplate The template of the tire model.
+     * @param ropeTemplate The template of the rope model.
+     * @param radius       The radius of the swing.
+     * @param staticRoot   If the main item display stays at the center while it has no rider.
+     * @param integrator   The integrator that steps the pendulum.
+     * @param quality      The quality level the rides are played at.
+     * @param staggering   The staggered frames while the swing has no rider, or null if it is not staggered.
+     * @param recorder     The recorder of the rides, or null if the rides are not recorded.
+     */
+    public BudgetHarness(ModelTemplate tireTemplate, ModelTemplate ropeTemplate, double radius, boolean staticRoot,
+                         Integrators integrator, QualityLevel quality, Staggering staggering, RideRecorder recorder) {
+        this.tireTemplate = tireTemplate;
+        this.ropeTemplate = ropeTemplate;
+        this.radius = radius;
+        this.staticRoot = staticRoot;
+        this.integrator = integrator;
+        this.quality = quality;
+        this.staggering = staggering;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Runs full rides through the {@link SwingTick} of the controller and a headless {@link Rotation},
+     * and measures them against a budget.
+     * <p>
+     * Every ride is seated for the given number of ticks, and then slows down until it is still.
+     * The rides go through the same tick path as the swing task of the controller, with its frame
+     * interval of the quality level and staggering, its recording and its frame metrics, and every ride
+     * gets the next tick slot. A settling ride plays its keyframes like the controller does.
+     * Only the packets are not sent, since a headless rotation has no frame bundle.
+     * <p>
+     * Only the ticks are measured, not the setup of each ride. The allocations are read from the
+     * allocation counter of the thread, so the harness should run on a thread of its own.
+     *
+     * @param rides       The number of rides to measure.
+     * @param seatedTicks The number of ticks the rider stays seated.
+     * @param budget      The budget to measure the rides against.
+     * @return The report of the run.
+     */
+    public BudgetReport run(int rides, int seatedTicks, TickBudget budget) {
+        com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+        long[] totals = new long[Total.values().length];
+        for (int i = 0; i < WARMUP_RIDES; i++) {
+            ride(i, seatedTicks, allocationBean, totals);
+        }
+        totals = new long[Total.values().length];
+        for (int i = 0; i < rides; i++) {
+            ride(i, seatedTicks, allocationBean, totals);
+        }
+
+        long ticks = Math.max(1, totals[Total.TICKS.ordinal()]);
+        int parts = Math.max(1, tireTemplate.size() + ropeTemplate.size());
+        return new BudgetReport(
+                rides,
+                totals[Total.TICKS.ordinal()],
+                allocationBean == null ? -1 : (double) totals[Total.BYTES.ordinal()] / ticks,
+                (double) totals[Total.UPDATES.ordinal()] / ticks / parts,
+                (double) totals[Total.MOVES.ordinal()] / ticks,
+                budget
+        );
+    }
+
+    /**
+     * Runs one ride, and adds its costs to the totals.
+     * <p>
+     * The rider is the nearest player while seated, and stays next to the swing after the dismount.
+     *
+     * @param slot           The tick slot of the swing.
+     * @param seatedTicks    The number of ticks the rider stays seated.
+     * @param allocationBean The bean to read the allocations from, or null if they can't be measured.
+     * @param totals         The totals to add the costs to.
+     */
+    private void ride(int slot, int seatedTicks, com.sun.management.ThreadMXBean allocationBean, long[] totals) {
+        Rotation rotation = Rotation.headless(tireTemplate, ropeTemplate, radius, staticRoot);
+        rotation.setReducedParts(quality.isReducedParts());
+        SwingTick ride = new SwingTick(integrator, rotation, staticRoot, recorder, timings, metrics);
+        ride.mount(0);
+
+        int tick = 0;
+        long updates = 0;
+        long moves = 0;
+        long start = allocationBean == null ? 0 : allocationBean.getCurrentThreadAllocatedBytes();
+        while (tick < MAX_RIDE_TICKS) {
+            boolean hasPassenger = tick < seatedTicks;
+            int frameInterval = SwingTick.getFrameInterval(quality, staggering, hasPassenger, 0);
+            SwingTick.Result result = ride.tick(tick, tick * TICK_NANOS, hasPassenger, frameInterval, slot);
+            if (result == SwingTick.Result.STILL) {
+                break;
+            }
+            tick++;
+            if (result == SwingTick.Result.FRAME) {
+                updates += rotation.getFrameUpdates();
+                moves += rotation.isFrameMoved() ? 1 : 0;
+            } else if (result == SwingTick.Result.SETTLE) {
+                for (Keyframe keyframe : ride.getSettleKeyframes()) {
+                    ride.playKeyframe(keyframe);
+                    tick += keyframe.duration();
+                    updates += rotation.getFrameUpdates();
+                    moves += rotation.isFrameMoved() ? 1 : 0;
+                }
+                ride.end(tick);
+                break;
+            }
+        }
+        long end = allocationBean == null ? 0 : allocationBean.getCurrentThreadAllocatedBytes();
+
+        totals[Total.TICKS.ordinal()] += tick;
+        totals[Total.UPDATES.ordinal()] += updates;
+        totals[Total.MOVES.ordinal()] += moves;
+        totals[Total.BYTES.ordinal()] += end - start;
+    }
+
+    /**
+     * Returns the bean that counts the allocations of the current thread.
+     *
+     * @return The bean, or null if the allocations can't be measured.
+     */
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean allocationBean
+                && allocationBean.isThreadAllocatedMemorySupported()
+                && allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return allocationBean;
+        }
+        return null;
+    }
+
+    /**
+     * The totals that are counted over the rides.
+     */
+    private enum Total {
+        TICKS,
+        UPDATES,
+        MOVES,
+        BYTES
+    }
+}
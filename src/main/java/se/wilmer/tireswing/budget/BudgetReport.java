@@ -0,0 +1,56 @@
+package se.wilmer.tireswing.budget;
+
+/**
+ * The report of a budget run.
+ *
+ * @param rides          The number of rides that were run.
+ * @param ticks          The number of measured ticks.
+ * @param bytesPerTick   The bytes allocated per tick, or -1 if allocations can't be measured.
+ * @param updatesPerPart The display updates per tick, for each rotating part.
+ * @param movesPerTick   The moves of the main item display per tick.
+ * @param budget         The budget the run was measured against.
+ */
+public record BudgetReport(
+        int rides,
+        long ticks,
+        double bytesPerTick,
+        double updatesPerPart,
+        double movesPerTick,
+        TickBudget budget
+) {
+    /**
+     * Returns if the allocations are within the budget.
+     *
+     * @return if the allocations are within the budget, or could not be measured.
+     */
+    public boolean isAllocationWithinBudget() {
+        return bytesPerTick <= budget.bytesPerTick();
+    }
+
+    /**
+     * Returns if the display updates are within the budget.
+     *
+     * @return if the display updates are within the budget.
+     */
+    public boolean isUpdatesWithinBudget() {
+        return updatesPerPart <= budget.updatesPerPart();
+    }
+
+    /**
+     * Returns if the moves of the main item display are within the budget.
+     *
+     * @return if the moves are within the budget.
+     */
+    public boolean isMovesWithinBudget() {
+        return movesPerTick <= budget.movesPerTick();
+    }
+
+    /**
+     * Returns if every cost is within the budget.
+     *
+     * @return if every cost is within the budget.
+     */
+    public boolean isWithinBudget() {
+        return isAllocationWithinBudget() && isUpdatesWithinBudget() && isMovesWithinBudget();
+    }
+}
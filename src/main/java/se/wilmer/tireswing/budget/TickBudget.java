@@ -0,0 +1,18 @@
+package se.wilmer.tireswing.budget;
+
+/**
+ * The most that one tick of a ride may cost.
+ *
+ * @param bytesPerTick   The most bytes that may be allocated per tick.
+ * @param updatesPerPart The most display updates per tick, for each rotating part.
+ * @param movesPerTick   The most moves of the main item display per tick.
+ */
+public record TickBudget(long bytesPerTick, double updatesPerPart, double movesPerTick) {
+    /**
+     * The budget of the tick path of a ride.
+     * <p>
+     * A tick should allocate nothing once it is compiled, update every part at most once,
+     * and move the main item display at most once.
+     */
+    public static final TickBudget DEFAULT = new TickBudget(64, 1.0, 1.0);
+}
@@ -0,0 +1,580 @@
+package se.wilmer.tireswing.command;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import se.wilmer.tireswing.Controller;
+import se.wilmer.tireswing.TireSwing;
+import se.wilmer.tireswing.animation.IntegratorBenchmark;
+import se.wilmer.tireswing.animation.IntegratorResult;
+import se.wilmer.tireswing.budget.BudgetHarness;
+import se.wilmer.tireswing.budget.BudgetReport;
+import se.wilmer.tireswing.budget.TickBudget;
+import se.wilmer.tireswing.configuration.ModelWriter;
+import se.wilmer.tireswing.entities.DisplayPool;
+import se.wilmer.tireswing.entities.EntityRegistry;
+import se.wilmer.tireswing.model.ModelData;
+import se.wilmer.tireswing.model.ModelDiff;
+import se.wilmer.tireswing.model.ModelOptimizer;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.network.SwingTraffic;
+import se.wilmer.tireswing.network.TrafficType;
+import se.wilmer.tireswing.network.ViewerTraffic;
+import se.wilmer.tireswing.quality.QualityGovernor;
+import se.wilmer.tireswing.recording.ReplayHarness;
+import se.wilmer.tireswing.recording.ReplayReport;
+import se.wilmer.tireswing.recording.RideLog;
+import se.wilmer.tireswing.resourcepack.ModelBaker;
+import se.wilmer.tireswing.stats.RideStatsStore;
+import se.wilmer.tireswing.stats.RideTotal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public final class TireSwingCommand implements TabExecutor {
+    /**
+     * The subcommands of the command.
+     */
+    private static final List<String> SUBCOMMANDS = List.of("stats", "replay", "stress", "cleanup", "bake", "optimize", "budget", "leaks", "integrators", "reload", "rides");
+
+    /**
+     * The largest number of swings a stress test can spawn.
+     */
+    private static final int MAX_STRESS_COUNT = 1000;
+
+    /**
+     * The default radius of the disc a stress test places the swings in.
+     */
+    private static final double DEFAULT_STRESS_RADIUS = 32;
+
+    /**
+     * The default tolerance of the model optimizer (blocks).
+     */
+    private static final float DEFAULT_OPTIMIZE_TOLERANCE = 0.01f;
+
+    /**
+     * The number of rides measured by the budget command.
+     */
+    private static final int BUDGET_RIDES = 20;
+
+    /**
+     * The number of ticks the rider stays seated in the rides of the budget command.
+     */
+    private static final int BUDGET_SEATED_TICKS = 400;
+
+    /**
+     * The time steps measured by the integrators command (seconds).
+     */
+    private static final double[] INTEGRATOR_TIME_STEPS = {0.05, 0.1, 0.2};
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * Creates a new TireSwingCommand instance.
+     *
+     * @param plugin The TireSwing plugin instance.
+     */
+    public TireSwingCommand(TireSwing plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "stats" -> sendStats(sender);
+            case "replay" -> replay(sender, args);
+            case "stress" -> stress(sender, args);
+            case "cleanup" -> cleanup(sender);
+            case "bake" -> bake(sender);
+            case "optimize" -> optimize(sender, args);
+            case "budget" -> budget(sender);
+            case "leaks" -> leaks(sender, args);
+            case "integrators" -> integrators(sender);
+            case "reload" -> reload(sender);
+            case "rides" -> rides(sender, args);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return SUBCOMMANDS.stream()
+                    .filter(subcommand -> subcommand.startsWith(args[0].toLowerCase()))
+                    .toList();
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("leaks")) {
+            return "remove".startsWith(args[1].toLowerCase()) ? List.of("remove") : List.of();
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("replay")) {
+            return getRideLogs().stream()
+                    .filter(name -> name.startsWith(args[1]))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Sends the quality level, the display pool and the network traffic of every swing to the sender.
+     *
+     * @param sender The sender to send the traffic to.
+     */
+    private void sendStats(CommandSender sender) {
+        QualityGovernor governor = plugin.getQualityGovernor();
+        if (governor != null) {
+            sender.sendMessage(Component.text(
+                    String.format("Quality: %s at %.2f mspt", governor.getLevel().name().toLowerCase(), governor.getMspt()),
+                    NamedTextColor.GOLD
+            ));
+        }
+        DisplayPool pool = plugin.getDisplayPool();
+        if (pool != null) {
+            sender.sendMessage(Component.text(
+                    String.format("Display pool: %d parked, %d reused", pool.getParkedCount(), pool.getReusedCount()),
+                    NamedTextColor.GOLD
+            ));
+        }
+        for (SwingTraffic traffic : plugin.getNetworkStatistics().getSwingTraffics()) {
+            sender.sendMessage(Component.text(
+                    String.format("%s: %s total, %s/s", traffic.getName(), formatBytes(traffic.getTotalBytes()), formatBytes((long) traffic.getBytesPerSecond())),
+                    NamedTextColor.GOLD
+            ));
+            for (TrafficType type : TrafficType.values()) {
+                sender.sendMessage(Component.text(
+                        String.format("  %s: %d packets, %s, %s/s%s", type.name().toLowerCase(), traffic.getPackets(type),
+                                formatBytes(traffic.getBytes(type)), formatBytes((long) traffic.getBytesPerSecond(type)),
+                                type.isEstimated() ? " (estimated)" : ""),
+                        NamedTextColor.GRAY
+                ));
+            }
+            for (Map.Entry<UUID, ViewerTraffic> entry : traffic.getViewers().entrySet()) {
+                String viewer = plugin.getServer().getOfflinePlayer(entry.getKey()).getName();
+                sender.sendMessage(Component.text(
+                        String.format("  %s: %s, %s/s", viewer != null ? viewer : entry.getKey(),
+                                formatBytes(entry.getValue().getBytes()), formatBytes((long) entry.getValue().getBytesPerSecond())),
+                        NamedTextColor.GRAY
+                ));
+            }
+        }
+    }
+
+    /**
+     * Replays a ride log through a headless swing, and sends the report to the sender.
+     * <p>
+     * The replay runs asynchronously, since it doesn't use any entities.
+     *
+     * @param sender The sender that replays the ride log.
+     * @param args   The arguments of the command.
+     */
+    private void replay(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(Component.text("Usage: /tireswing replay <log>", NamedTextColor.RED));
+            return;
+        }
+        Path folder = plugin.getRecordingFolder();
+        Path path = folder.resolve(args[1]).normalize();
+        if (!path.startsWith(folder) || Files.notExists(path)) {
+            sender.sendMessage(Component.text("Could not find ride log " + args[1], NamedTextColor.RED));
+            return;
+        }
+
+        Controller controller = plugin.getController();
+        ReplayHarness harness = new ReplayHarness(
+                controller.getRotationalModel().getTemplate(),
+                controller.getRopeModel().getTemplate(),
+                controller.getRadius(),
+                controller.isStaticRoot()
+        );
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                ReplayReport report = harness.replay(RideLog.read(path));
+                sender.sendMessage(Component.text(String.format(
+                        "Replayed %d rides, %d frames in %.2f ms",
+                        report.rides(), report.frames(), report.nanos() / 1.0E6
+                ), NamedTextColor.GOLD));
+                sender.sendMessage(Component.text(String.format(
+                        "  updates: %d recorded, %d replayed",
+                        report.recordedUpdates(), report.replayedUpdates()
+                ), NamedTextColor.GRAY));
+                sender.sendMessage(Component.text(String.format(
+                        "  moves: %d recorded, %d replayed",
+                        report.recordedMoves(), report.replayedMoves()
+                ), NamedTextColor.GRAY));
+                sender.sendMessage(Component.text(String.format(
+                        "  max angle error: %.5f rad", report.maxAngleError()
+                ), NamedTextColor.GRAY));
+            } catch (IOException e) {
+                sender.sendMessage(Component.text("Could not read ride log: " + e.getMessage(), NamedTextColor.RED));
+            }
+        });
+    }
+
+    /**
+     * Starts a stress test around the sender, or around the tire swing if the sender is not a player.
+     *
+     * @param sender The sender that starts the stress test.
+     * @param args   The arguments of the command.
+     */
+    private void stress(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(Component.text("Usage: /tireswing stress <count> [radius]", NamedTextColor.RED));
+            return;
+        }
+        int count;
+        double radius;
+        try {
+            count = Integer.parseInt(args[1]);
+            radius = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_STRESS_RADIUS;
+        } catch (NumberFormatException e) {
+            sender.sendMessage(Component.text("Usage: /tireswing stress <count> [radius]", NamedTextColor.RED));
+            return;
+        }
+        if (count < 1 || count > MAX_STRESS_COUNT || radius < 0) {
+            sender.sendMessage(Component.text(
+                    "The count must be between 1 and " + MAX_STRESS_COUNT + ", and the radius can't be negative",
+                    NamedTextColor.RED
+            ));
+            return;
+        }
+
+        Location center = sender instanceof Player player
+                ? player.getLocation().toBlockLocation()
+                : plugin.getController().getLocation();
+        if (!plugin.getStressTest().start(sender, center, count, radius)) {
+            sender.sendMessage(Component.text("A stress test is already running", NamedTextColor.RED));
+            return;
+        }
+        sender.sendMessage(Component.text(String.format(
+                "Spawned %d swings, the report is sent when the test is done", count
+        ), NamedTextColor.GOLD));
+    }
+
+    /**
+     * Removes every tire swing spawned by the stress tests.
+     *
+     * @param sender The sender that removes the swings.
+     */
+    private void cleanup(CommandSender sender) {
+        int count = plugin.getStressTest().cleanup();
+        sender.sendMessage(Component.text("Removed " + count + " swings", NamedTextColor.GOLD));
+    }
+
+    /**
+     * Sends the ride statistics of a player, or of every tire swing, to the sender.
+     * <p>
+     * Without a player name, the statistics of the sender are sent if it is a player,
+     * followed by those of every tire swing. The statistics are read on the writer thread of the store.
+     *
+     * @param sender The sender that reads the statistics.
+     * @param args   The arguments of the command.
+     */
+    private void rides(CommandSender sender, String[] args) {
+        RideStatsStore rideStats = plugin.getRideStats();
+        if (rideStats == null) {
+            sender.sendMessage(Component.text("Ride statistics are disabled in config.json", NamedTextColor.RED));
+            return;
+        }
+
+        OfflinePlayer player = null;
+        if (args.length > 1) {
+            player = plugin.getServer().getOfflinePlayerIfCached(args[1]);
+            if (player == null) {
+                sender.sendMessage(Component.text("Unknown player: " + args[1], NamedTextColor.RED));
+                return;
+            }
+        } else if (sender instanceof Player self) {
+            player = self;
+        }
+
+        if (player != null) {
+            String name = player.getName() != null ? player.getName() : player.getUniqueId().toString();
+            rideStats.getPlayerTotal(player.getUniqueId()).whenComplete((total, e) -> {
+                if (e != null) {
+                    sender.sendMessage(Component.text("Could not read the ride statistics, see the console", NamedTextColor.RED));
+                    plugin.getComponentLogger().error("Could not read the ride statistics", e);
+                    return;
+                }
+                sender.sendMessage(Component.text(name + ": " + formatRides(total), NamedTextColor.GOLD));
+            });
+        }
+        if (args.length > 1) {
+            return;
+        }
+        rideStats.getSwingTotals().whenComplete((totals, e) -> {
+            if (e != null) {
+                sender.sendMessage(Component.text("Could not read the ride statistics, see the console", NamedTextColor.RED));
+                plugin.getComponentLogger().error("Could not read the ride statistics", e);
+                return;
+            }
+            sender.sendMessage(Component.text(String.format(
+                    "Ride statistics: %d queued, %d dropped", rideStats.getQueuedCount(), rideStats.getDroppedCount()
+            ), NamedTextColor.GOLD));
+            totals.forEach((swing, total) -> sender.sendMessage(Component.text(
+                    "  " + swing + ": " + formatRides(total), NamedTextColor.GRAY
+            )));
+        });
+    }
+
+    /**
+     * Formats the ride statistics of a tire swing or a player.
+     *
+     * @param total The ride statistics.
+     * @return The formatted statistics.
+     */
+    private static String formatRides(RideTotal total) {
+        return String.format("%d rides, %.1f s airtime, %.1f degrees peak angle", total.rides(), total.airtime(), total.peakAngle());
+    }
+
+    /**
+     * Sends the entities that are tagged as tire swing entities, but not owned by any tire swing, to the sender.
+     * <p>
+     * With {@code remove}, the leaked entities are also removed.
+     *
+     * @param sender The sender that looks for the leaks.
+     * @param args   The arguments of the command.
+     */
+    private void leaks(CommandSender sender, String[] args) {
+        EntityRegistry registry = plugin.getEntityRegistry();
+        List<Entity> leaks = registry.findLeaks();
+        sender.sendMessage(Component.text(String.format(
+                "%d owned entities, %d leaked entities", registry.getOwnedCount(), leaks.size()
+        ), NamedTextColor.GOLD));
+        for (Entity entity : leaks) {
+            Location location = entity.getLocation();
+            sender.sendMessage(Component.text(String.format(
+                    "  %s of %s at %s %.1f %.1f %.1f",
+                    entity.getType().getKey().getKey(), registry.getOwner(entity),
+                    location.getWorld().getName(), location.getX(), location.getY(), location.getZ()
+            ), NamedTextColor.GRAY));
+        }
+        if (args.length >= 2 && args[1].equalsIgnoreCase("remove")) {
+            leaks.forEach(Entity::remove);
+            sender.sendMessage(Component.text("Removed " + leaks.size() + " leaked entities", NamedTextColor.GOLD));
+        }
+    }
+
+    /**
+     * Bakes the models of the tire swing into a resource pack, and sends the result to the sender.
+     * <p>
+     * The bake runs asynchronously, since it downloads the skins of the heads.
+     *
+     * @param sender The sender that bakes the models.
+     */
+    private void bake(CommandSender sender) {
+        Controller controller = plugin.getController();
+        ModelTemplate rotational = controller.getRotationalModel().getTemplate();
+        ModelTemplate rope = controller.getRopeModel().getTemplate();
+        ModelTemplate still = controller.getStillModel().getTemplate();
+        int displays = rotational.size() + rope.size() + still.size();
+        Path folder = plugin.getDataFolder().toPath().resolve("baked");
+
+        sender.sendMessage(Component.text("Baking the models...", NamedTextColor.GOLD));
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            ModelBaker baker = new ModelBaker(plugin.getComponentLogger());
+            if (!baker.bake(rotational, rope, still, folder)) {
+                sender.sendMessage(Component.text("Could not bake the models, see the console", NamedTextColor.RED));
+                return;
+            }
+            sender.sendMessage(Component.text(String.format(
+                    "Baked %d displays into 4, the resource pack and model.json are in %s", displays, folder
+            ), NamedTextColor.GOLD));
+        });
+    }
+
+    /**
+     * Merges the parts of the models of the tire swing, writes the optimized model.json,
+     * and sends the savings to the sender.
+     *
+     * @param sender The sender that optimizes the models.
+     * @param args   The arguments of the command.
+     */
+    private void optimize(CommandSender sender, String[] args) {
+        float tolerance;
+        try {
+            tolerance = args.length > 1 ? Float.parseFloat(args[1]) : DEFAULT_OPTIMIZE_TOLERANCE;
+        } catch (NumberFormatException e) {
+            sender.sendMessage(Component.text("Usage: /tireswing optimize [tolerance]", NamedTextColor.RED));
+            return;
+        }
+
+        Controller controller = plugin.getController();
+        Map<String, ModelTemplate> templates = new LinkedHashMap<>();
+        templates.put("rotational", controller.getRotationalModel().getTemplate());
+        templates.put("rope", controller.getRopeModel().getTemplate());
+        templates.put("still", controller.getStillModel().getTemplate());
+
+        ModelOptimizer optimizer = new ModelOptimizer(tolerance);
+        Map<String, List<ModelData>> sections = new LinkedHashMap<>();
+        Map<String, Float> textureStretches = new LinkedHashMap<>();
+        templates.forEach((name, template) -> {
+            sections.put(name, optimizer.optimize(template.getParts()));
+            textureStretches.put(name, optimizer.getTextureStretch());
+        });
+
+        Path path = plugin.getDataFolder().toPath().resolve("optimized").resolve("model.json");
+        try {
+            ModelWriter.write(path, sections);
+        } catch (IOException e) {
+            plugin.getComponentLogger().error("Could not write the optimized model", e);
+            sender.sendMessage(Component.text("Could not write the optimized model, see the console", NamedTextColor.RED));
+            return;
+        }
+
+        int before = 0;
+        int after = 0;
+        for (String name : templates.keySet()) {
+            int parts = templates.get(name).size();
+            int optimized = sections.get(name).size();
+            before += parts;
+            after += optimized;
+            sender.sendMessage(Component.text(String.format(
+                    "  %s: %d -> %d parts, textures stretched up to %.1fx", name, parts, optimized, textureStretches.get(name)
+            ), NamedTextColor.GRAY));
+        }
+        sender.sendMessage(Component.text(String.format(
+                "Merged %d parts into %d, the optimized model.json is in %s", before, after, path.getParent()
+        ), NamedTextColor.GOLD));
+    }
+
+    /**
+     * Measures full headless rides against the tick budget, and sends the report to the sender.
+     * <p>
+     * This is only a diagnostic on a running server, the budget itself is enforced by the tests.
+     * The rides run asynchronously, so the allocations of the server thread are not counted.
+     *
+     * @param sender The sender that measures the budget.
+     */
+    private void budget(CommandSender sender) {
+        Controller controller = plugin.getController();
+        BudgetHarness harness = new BudgetHarness(
+                controller.getRotationalModel().getTemplate(),
+                controller.getRopeModel().getTemplate(),
+                controller.getRadius(),
+                controller.isStaticRoot(),
+                controller.getIntegrator(),
+                controller.getQuality(),
+                controller.getStaggering(),
+                null
+        );
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            BudgetReport report = harness.run(BUDGET_RIDES, BUDGET_SEATED_TICKS, TickBudget.DEFAULT);
+            TickBudget budget = report.budget();
+            sender.sendMessage(Component.text(String.format(
+                    "Measured %d rides, %d ticks: %s", report.rides(), report.ticks(), report.isWithinBudget() ? "within budget" : "over budget"
+            ), report.isWithinBudget() ? NamedTextColor.GREEN : NamedTextColor.RED));
+            sender.sendMessage(Component.text(report.bytesPerTick() < 0
+                    ? "  allocations: not measurable on this JVM"
+                    : String.format("  allocations: %.1f B/tick (budget %d)", report.bytesPerTick(), budget.bytesPerTick()),
+                    report.isAllocationWithinBudget() ? NamedTextColor.GRAY : NamedTextColor.RED
+            ));
+            sender.sendMessage(Component.text(String.format(
+                    "  updates: %.3f per part and tick (budget %.3f)", report.updatesPerPart(), budget.updatesPerPart()
+            ), report.isUpdatesWithinBudget() ? NamedTextColor.GRAY : NamedTextColor.RED));
+            sender.sendMessage(Component.text(String.format(
+                    "  moves: %.3f per tick (budget %.3f)", report.movesPerTick(), budget.movesPerTick()
+            ), report.isMovesWithinBudget() ? NamedTextColor.GRAY : NamedTextColor.RED));
+        });
+    }
+
+    /**
+     * Reloads model.json, and sends the number of changed parts to the sender.
+     *
+     * @param sender The sender that reloads the models.
+     */
+    private void reload(CommandSender sender) {
+        ModelDiff diff = plugin.getSwingManager().reloadModels();
+        if (diff == null) {
+            sender.sendMessage(Component.text("Could not reload model.json, see the console", NamedTextColor.RED));
+            return;
+        }
+        if (diff.isEmpty()) {
+            sender.sendMessage(Component.text("Reloaded model.json, nothing has changed", NamedTextColor.GOLD));
+            return;
+        }
+        sender.sendMessage(Component.text(String.format(
+                "Reloaded model.json: %d parts updated, %d spawned, %d removed", diff.changed(), diff.added(), diff.removed()
+        ), NamedTextColor.GOLD));
+    }
+
+    /**
+     * Measures the accuracy and cost of every integrator, and sends the results to the sender.
+     * <p>
+     * The integrators are measured asynchronously, so the timing is not disturbed by the server thread.
+     *
+     * @param sender The sender that measures the integrators.
+     */
+    private void integrators(CommandSender sender) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<IntegratorResult> results = new IntegratorBenchmark().run(INTEGRATOR_TIME_STEPS);
+            sender.sendMessage(Component.text("Integrators against an RK4 ride at 0.001 s", NamedTextColor.GOLD));
+            for (IntegratorResult result : results) {
+                boolean stable = Double.isFinite(result.maxAngleError()) && Double.isFinite(result.energyDrift());
+                sender.sendMessage(Component.text(String.format(
+                        "  %s at %.2f s: error %.4f rad, energy drift %+.2f%%, %.1f ns/step, %.0f ns per second",
+                        result.integrator(),
+                        result.timeStep(),
+                        result.maxAngleError(),
+                        result.energyDrift() * 100,
+                        result.nanosPerStep(),
+                        result.nanosPerSecond()
+                ), stable ? NamedTextColor.GRAY : NamedTextColor.RED));
+            }
+        });
+    }
+
+    /**
+     * Returns the names of the ride logs in the recording folder.
+     *
+     * @return The names of the ride logs.
+     */
+    private List<String> getRideLogs() {
+        Path folder = plugin.getRecordingFolder();
+        if (Files.notExists(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(folder)) {
+            return paths.map(path -> path.getFileName().toString()).toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Formats a number of bytes with a binary unit.
+     *
+     * @param bytes The number of bytes.
+     * @return The formatted number of bytes.
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        }
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+}
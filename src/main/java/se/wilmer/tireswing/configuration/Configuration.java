@@ -13,10 +13,18 @@ import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.gson.GsonConfigurationLoader;
 import org.spongepowered.configurate.serialize.SerializationException;
 import se.wilmer.tireswing.TireSwing;
+import se.wilmer.tireswing.animation.IdleSway;
+import se.wilmer.tireswing.animation.Integrators;
 import se.wilmer.tireswing.entities.FulcrumEntity;
 import se.wilmer.tireswing.entities.InteractionEntity;
-import se.wilmer.tireswing.model.Model;
+import se.wilmer.tireswing.entities.Materialization;
+import se.wilmer.tireswing.entities.PoolSettings;
+import se.wilmer.tireswing.entities.ViewDistance;
 import se.wilmer.tireswing.model.ModelData;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.quality.GovernorSettings;
+import se.wilmer.tireswing.quality.Staggering;
+import se.wilmer.tireswing.stats.RideStatsSettings;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -56,19 +64,19 @@ public final class Configuration {
     private Location location;
 
     /**
-     * The model used for the rope part of the tire swing.
+     * The template of the model used for the rope part of the tire swing.
      */
-    private Model ropeModel;
+    private ModelTemplate ropeTemplate;
 
     /**
-     * The model used for the rotating part of the tire swing.
+     * The template of the model used for the rotating part of the tire swing.
      */
-    private Model rotationalModel;
+    private ModelTemplate rotationalTemplate;
 
     /**
-     * The model used for the still part of the tire swing.
+     * The template of the model used for the still part of the tire swing.
      */
-    private Model stillModel;
+    private ModelTemplate stillTemplate;
 
     /**
      * The information about the interaction entity for the tire swing.
@@ -80,6 +88,55 @@ public final class Configuration {
      */
     private FulcrumEntity fulcrumEntity;
 
+    /**
+     * If the main item display should stay at the center while it has no rider.
+     */
+    private boolean staticRoot;
+
+    /**
+     * The idle sway of the tire swing, or null if it is disabled.
+     */
+    private IdleSway idleSway;
+
+    /**
+     * If the rides should be recorded to ride logs.
+     */
+    private boolean recording;
+
+    /**
+     * The integrator that steps the pendulum of the tire swings.
+     */
+    private Integrators integrator;
+
+    /**
+     * The distances the tire swings spawn and despawn their entities at, or null if they are always spawned.
+     */
+    private Materialization materialization;
+
+    /**
+     * The settings of the pool of parked item displays, or null if the item displays are not pooled.
+     */
+    private PoolSettings poolSettings;
+
+    /**
+     * The staggered frames of the low priority tire swings, or null if they are not staggered.
+     */
+    private Staggering staggering;
+
+    /**
+     * The settings of the ride statistics, or null if they are not gathered.
+     */
+    private RideStatsSettings rideStatsSettings;
+
+    /**
+     * The port of the metrics endpoint, or 0 if it is disabled.
+     */
+    private int metricsPort;
+
+    /**
+     * The settings of the quality governor, or null if it is disabled.
+     */
+    private GovernorSettings governorSettings;
 
     /**
      * Creates a new Configuration instance.
@@ -119,6 +176,20 @@ public final class Configuration {
         if (!loadModels(ModelNode)) {
             return false;
         }
+        staticRoot = configNode.node("static_root").getBoolean(false);
+        loadIdleSway(configNode);
+        recording = configNode.node("recording", "enabled").getBoolean(false);
+        if (!loadIntegrator(configNode)) {
+            return false;
+        }
+        loadGovernor(configNode);
+        loadMaterialization(configNode);
+        loadPool(configNode);
+        loadStaggering(configNode);
+        loadRideStats(configNode);
+        metricsPort = configNode.node("metrics", "enabled").getBoolean(false)
+                ? configNode.node("metrics", "port").getInt(9464)
+                : 0;
 
         return loadFulcrum(configNode);
     }
@@ -211,7 +282,8 @@ public final class Configuration {
         this.interactionEntity = new InteractionEntity(
                 interactionNode.node("height").getFloat(),
                 interactionNode.node("width").getFloat(),
-                getLocation(locationNode, world)
+                getLocation(locationNode, world),
+                getViewDistance(interactionNode, ViewDistance.DEFAULT)
         );
         return true;
     }
@@ -221,21 +293,25 @@ public final class Configuration {
      * Loads the models from the configuration node.
      * <p>
      * This method attempts to load the rotational, rope, and still models from the configuration.
-     * If any errors occur during deserialization, an error message is logged and false is returned.
+     * If any errors occur during deserialization, an error message is logged and false is returned,
+     * and the earlier models are kept.
      *
      * @param node The configuration node containing model information.
      * @return if all models were loaded successfully.
      */
     private boolean loadModels(ConfigurationNode node) {
         try {
-            rotationalModel = getModel(node.node("rotational"));
-            ropeModel = getModel(node.node("rope"));
-            stillModel = getModel(node.node("still"));
+            ModelTemplate rotational = getTemplate(node.node("rotational"));
+            ModelTemplate rope = getTemplate(node.node("rope"));
+            ModelTemplate still = getTemplate(node.node("still"));
 
-            if (rotationalModel.getModelDataList().isEmpty() || ropeModel.getModelDataList().isEmpty() || stillModel.getModelDataList().isEmpty()) {
+            if (rotational.size() == 0 || rope.size() == 0 || still.size() == 0) {
                 plugin.getComponentLogger().error("Every model most have one entity");
                 return false;
             }
+            rotationalTemplate = rotational;
+            ropeTemplate = rope;
+            stillTemplate = still;
         } catch (SerializationException e) {
             plugin.getComponentLogger().error("Could not load models in model.json", e);
             return false;
@@ -243,6 +319,24 @@ public final class Configuration {
         return true;
     }
 
+    /**
+     * Loads the models from model.json again.
+     * <p>
+     * The earlier models are kept if the new models can't be loaded.
+     *
+     * @return if the models were reloaded successfully.
+     */
+    public boolean reloadModels() {
+        ConfigurationNode modelNode;
+        try {
+            modelNode = createNode(plugin.getDataFolder().toPath().resolve("model.json"), "model.json");
+        } catch (ConfigurateException e) {
+            plugin.getComponentLogger().error("Failed to load configuration node", e);
+            return false;
+        }
+        return loadModels(modelNode);
+    }
+
 
     /**
      * Loads the fulcrum configuration from the given node.
@@ -299,27 +393,184 @@ public final class Configuration {
                 getLocation(locationNode, world),
                 blockData,
                 transformation,
-                radius
+                radius,
+                getViewDistance(fulcrumNode, ViewDistance.DEFAULT)
         );
         return true;
     }
 
     /**
-     * Creates a Model instance from the given configuration node.
+     * Loads the idle sway configuration from the given node.
+     * <p>
+     * This method extracts the idle sway properties (enabled, amplitude, and period) from the configuration.
+     * The amplitude is in degrees, and the period is the number of ticks between two keyframes.
+     *
+     * @param node The configuration node containing idle sway information.
+     */
+    private void loadIdleSway(ConfigurationNode node) {
+        ConfigurationNode idleSwayNode = node.node("idle_sway");
+        if (!idleSwayNode.node("enabled").getBoolean(false)) {
+            idleSway = null;
+            return;
+        }
+
+        double amplitude = Math.toRadians(idleSwayNode.node("amplitude").getDouble(2.0));
+        int period = Math.max(1, idleSwayNode.node("period").getInt(60));
+        idleSway = new IdleSway(amplitude, period);
+    }
+
+    /**
+     * Loads the materialization configuration from the given node.
+     * <p>
+     * The distances are in blocks, and the despawn distance is kept at or above the spawn distance.
+     *
+     * @param node The configuration node containing materialization information.
+     */
+    private void loadMaterialization(ConfigurationNode node) {
+        ConfigurationNode materializationNode = node.node("materialization");
+        if (!materializationNode.node("enabled").getBoolean(false)) {
+            materialization = null;
+            return;
+        }
+
+        double spawnDistance = Math.max(0, materializationNode.node("spawn_distance").getDouble(64.0));
+        double despawnDistance = Math.max(spawnDistance, materializationNode.node("despawn_distance").getDouble(80.0));
+        materialization = new Materialization(spawnDistance, despawnDistance);
+    }
+
+    /**
+     * Loads the display pool configuration from the given node.
+     * <p>
+     * The size is per world, and the idle time is in seconds.
+     *
+     * @param node The configuration node containing display pool information.
+     */
+    private void loadPool(ConfigurationNode node) {
+        ConfigurationNode poolNode = node.node("pool");
+        if (!poolNode.node("enabled").getBoolean(false)) {
+            poolSettings = null;
+            return;
+        }
+
+        int size = Math.max(0, poolNode.node("size").getInt(64));
+        long idleTicks = Math.max(0, poolNode.node("idle_seconds").getLong(300)) * 20;
+        poolSettings = new PoolSettings(size, idleTicks);
+    }
+
+    /**
+     * Loads the integrator of the pendulum from the given node.
+     * <p>
+     * Explicit Euler is used when no integrator is set, so recorded rides replay the same.
+     *
+     * @param node The configuration node containing physics information.
+     * @return if the integrator was loaded successfully.
+     */
+    private boolean loadIntegrator(ConfigurationNode node) {
+        String name = node.node("physics", "integrator").getString(Integrators.EULER.getName());
+        integrator = Integrators.byName(name);
+        if (integrator == null) {
+            plugin.getComponentLogger().error("Unknown integrator: {}", name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Loads the staggering configuration from the given node.
+     * <p>
+     * The interval is in ticks, and the distant distance is in blocks.
+     *
+     * @param node The configuration node containing staggering information.
+     */
+    private void loadStaggering(ConfigurationNode node) {
+        ConfigurationNode staggeringNode = node.node("staggering");
+        if (!staggeringNode.node("enabled").getBoolean(false)) {
+            staggering = null;
+            return;
+        }
+
+        int interval = Math.max(1, staggeringNode.node("interval").getInt(4));
+        double distantDistance = Math.max(0, staggeringNode.node("distant_distance").getDouble(32.0));
+        staggering = new Staggering(interval, distantDistance);
+    }
+
+    /**
+     * Loads the ride statistics configuration from the given node.
+     * <p>
+     * The flush period is in seconds.
+     *
+     * @param node The configuration node containing ride statistics information.
+     */
+    private void loadRideStats(ConfigurationNode node) {
+        ConfigurationNode rideStatsNode = node.node("ride_stats");
+        if (!rideStatsNode.node("enabled").getBoolean(false)) {
+            rideStatsSettings = null;
+            return;
+        }
+
+        int queueCapacity = Math.max(1, rideStatsNode.node("queue_capacity").getInt(4096));
+        long flushPeriod = Math.max(1, rideStatsNode.node("flush_seconds").getLong(5)) * 1000;
+        int batchSize = Math.max(1, rideStatsNode.node("batch_size").getInt(256));
+        rideStatsSettings = new RideStatsSettings(queueCapacity, flushPeriod, batchSize);
+    }
+
+    /**
+     * Loads the quality governor configuration from the given node.
+     * <p>
+     * The tick times are in milliseconds, and the step up time is kept at or below the step down time.
+     *
+     * @param node The configuration node containing quality governor information.
+     */
+    private void loadGovernor(ConfigurationNode node) {
+        ConfigurationNode governorNode = node.node("governor");
+        if (!governorNode.node("enabled").getBoolean(false)) {
+            governorSettings = null;
+            return;
+        }
+
+        double stepDownMspt = governorNode.node("step_down_mspt").getDouble(40.0);
+        double stepUpMspt = Math.min(stepDownMspt, governorNode.node("step_up_mspt").getDouble(30.0));
+        int recoverySamples = Math.max(1, governorNode.node("recovery_samples").getInt(5));
+        governorSettings = new GovernorSettings(stepDownMspt, stepUpMspt, recoverySamples);
+    }
+
+    /**
+     * Creates a ModelTemplate instance from the given configuration node.
      * <p>
      * This method parses the configuration node to extract model data, including texture,
-     * translation, rotation, and scale for each model component. It then creates a list of
-     * ModelData instances and constructs a Model object using this list.
+     * translation, rotation, and scale for each model component. A component with an item
+     * instead of a texture is shown as that item with its custom model data, like a baked model. It then creates a list of
+     * ModelData instances and constructs a ModelTemplate object using this list.
+     * <p>
+     * The node is either the list of components, or an object with the components in {@code parts}
+     * and a view distance that every component uses unless it sets its own.
      *
      * @param configurationNode The configuration node containing model data.
-     * @return The created Model instance.
+     * @return The created ModelTemplate instance.
      * @throws SerializationException If an error occurs during model data parsing.
      */
-    private Model getModel(ConfigurationNode configurationNode) throws SerializationException {
+    private ModelTemplate getTemplate(ConfigurationNode configurationNode) throws SerializationException {
+        ViewDistance modelViewDistance = ViewDistance.DEFAULT;
+        if (configurationNode.isMap()) {
+            modelViewDistance = getViewDistance(configurationNode, modelViewDistance);
+            configurationNode = configurationNode.node("parts");
+        }
+
         List<ModelData> modelDataList = new ArrayList<>();
         for (ConfigurationNode node : configurationNode.childrenList()) {
-            String texture = node.node("texture").getString(DEFAULT_TEXTURE);
-            ItemStack itemStack = getCustomTextureHead(texture);
+            String item = node.node("item").getString();
+            String texture = null;
+            ItemStack itemStack;
+            if (item != null) {
+                Material material = Material.matchMaterial(item);
+                if (material == null) {
+                    throw new SerializationException("Could not find material " + item);
+                }
+                itemStack = getCustomModelItem(material, node.node("custom_model_data").getInt());
+            } else {
+                texture = node.node("texture").getString(DEFAULT_TEXTURE);
+                itemStack = getCustomTextureHead(texture);
+            }
 
             Vector3f translation = node.node("translation").get(Vector3f.class, DEFAULT_VECTOR);
             Quaternionf leftRotation = node.node("left_rotation").get(Quaternionf.class, DEFAULT_QUATERNIONF);
@@ -327,13 +578,30 @@ public final class Configuration {
             Quaternionf rightRotation = node.node("right_rotation").get(Quaternionf.class, DEFAULT_QUATERNIONF);
 
             Transformation transformation = new Transformation(translation, leftRotation, scale, rightRotation);
-            modelDataList.add(new ModelData(itemStack, transformation));
+            modelDataList.add(new ModelData(itemStack, texture, transformation, getViewDistance(node, modelViewDistance)));
         }
 
-        return new Model(modelDataList);
+        return new ModelTemplate(modelDataList);
     }
 
 
+    /**
+     * Creates a ViewDistance object from the given configuration node.
+     * <p>
+     * The view range is relative to the entity display distance of the client, and the tracking range
+     * is in blocks, where 0 uses the tracking range of the server.
+     *
+     * @param node         The configuration node containing view distance information.
+     * @param defaultValue The view distance that is used for the values that are not set.
+     * @return The created ViewDistance object.
+     */
+    private ViewDistance getViewDistance(ConfigurationNode node, ViewDistance defaultValue) {
+        return new ViewDistance(
+                Math.max(0, node.node("view_range").getFloat(defaultValue.viewRange())),
+                Math.max(0, node.node("tracking_range").getInt(defaultValue.trackingRange()))
+        );
+    }
+
     /**
      * Creates a Location object from the given configuration node and world.
      * <p>
@@ -372,6 +640,19 @@ public final class Configuration {
         return item;
     }
 
+    /**
+     * Creates an item stack of the given material with the specified custom model data.
+     *
+     * @param material        The material of the item.
+     * @param customModelData The custom model data of the item.
+     * @return The created item stack.
+     */
+    private ItemStack getCustomModelItem(Material material, int customModelData) {
+        ItemStack item = new ItemStack(material);
+        item.editMeta(meta -> meta.setCustomModelData(customModelData));
+        return item;
+    }
+
     /**
      * Returns the world where the tire swing is located.
      *
@@ -391,30 +672,30 @@ public final class Configuration {
     }
 
     /**
-     * Returns the still model of the tire swing.
+     * Returns the template of the still model of the tire swing.
      *
-     * @return The still model of the tire swing.
+     * @return The template of the still model of the tire swing.
      */
-    public Model getStillModel() {
-        return stillModel;
+    public ModelTemplate getStillTemplate() {
+        return stillTemplate;
     }
 
     /**
-     * Returns the rope model of the tire swing.
+     * Returns the template of the rope model of the tire swing.
      *
-     * @return The rope model of the tire swing.
+     * @return The template of the rope model of the tire swing.
      */
-    public Model getRopeModel() {
-        return ropeModel;
+    public ModelTemplate getRopeTemplate() {
+        return ropeTemplate;
     }
 
     /**
-     * Returns the rotational model of the tire swing.
+     * Returns the template of the rotational model of the tire swing.
      *
-     * @return The rotational model of the tire swing.
+     * @return The template of the rotational model of the tire swing.
      */
-    public Model getRotationalModel() {
-        return rotationalModel;
+    public ModelTemplate getRotationalTemplate() {
+        return rotationalTemplate;
     }
 
     /**
@@ -426,6 +707,96 @@ public final class Configuration {
         return fulcrumEntity;
     }
 
+    /**
+     * Returns if the main item display should stay at the center while it has no rider.
+     *
+     * @return if the main item display should stay at the center while it has no rider.
+     */
+    public boolean isStaticRoot() {
+        return staticRoot;
+    }
+
+    /**
+     * Returns the idle sway of the tire swing.
+     *
+     * @return The idle sway of the tire swing, or null if it is disabled.
+     */
+    public IdleSway getIdleSway() {
+        return idleSway;
+    }
+
+    /**
+     * Returns if the rides should be recorded to ride logs.
+     *
+     * @return if the rides should be recorded to ride logs.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Returns the distances the tire swings spawn and despawn their entities at.
+     *
+     * @return The distances, or null if the tire swings are always spawned.
+     */
+    public Materialization getMaterialization() {
+        return materialization;
+    }
+
+    /**
+     * Returns the integrator that steps the pendulum of the tire swings.
+     *
+     * @return The integrator of the pendulum.
+     */
+    public Integrators getIntegrator() {
+        return integrator;
+    }
+
+    /**
+     * Returns the settings of the pool of parked item displays.
+     *
+     * @return The settings of the pool, or null if the item displays are not pooled.
+     */
+    public PoolSettings getPoolSettings() {
+        return poolSettings;
+    }
+
+    /**
+     * Returns the staggered frames of the low priority tire swings.
+     *
+     * @return The staggered frames, or null if the tire swings are not staggered.
+     */
+    public Staggering getStaggering() {
+        return staggering;
+    }
+
+    /**
+     * Returns the settings of the ride statistics.
+     *
+     * @return The settings of the ride statistics, or null if they are not gathered.
+     */
+    public RideStatsSettings getRideStatsSettings() {
+        return rideStatsSettings;
+    }
+
+    /**
+     * Returns the port of the metrics endpoint.
+     *
+     * @return The port of the metrics endpoint, or 0 if it is disabled.
+     */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    /**
+     * Returns the settings of the quality governor.
+     *
+     * @return The settings of the quality governor, or null if it is disabled.
+     */
+    public GovernorSettings getGovernorSettings() {
+        return governorSettings;
+    }
+
     /**
      * Returns the interaction entity of the tire swing.
      *
@@ -0,0 +1,154 @@
+package se.wilmer.tireswing.configuration;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.bukkit.Material;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionfc;
+import org.joml.Vector3fc;
+import se.wilmer.tireswing.entities.ViewDistance;
+import se.wilmer.tireswing.model.ModelData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public final class ModelWriter {
+    /**
+     * The Gson instance used to write the model files.
+     */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private ModelWriter() {
+    }
+
+    /**
+     * Writes the sections of a model file, in the format of model.json.
+     *
+     * @param path     The path of the model file.
+     * @param sections The parts of each section of the model file.
+     * @throws IOException If the model file can't be written.
+     */
+    public static void write(Path path, Map<String, List<ModelData>> sections) throws IOException {
+        JsonObject json = new JsonObject();
+        sections.forEach((name, parts) -> {
+            JsonArray array = new JsonArray();
+            parts.forEach(part -> array.add(toJson(part)));
+            json.add(name, array);
+        });
+        write(path, json);
+    }
+
+    /**
+     * Writes a model file.
+     *
+     * @param path The path of the model file.
+     * @param json The JSON of the model file.
+     * @throws IOException If the model file can't be written.
+     */
+    public static void write(Path path, JsonObject json) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, GSON.toJson(json));
+    }
+
+    /**
+     * Returns the JSON of a part, in the format of model.json.
+     * <p>
+     * A head is written with its texture, and any other item with its custom model data.
+     *
+     * @param part The part.
+     * @return The JSON of the part.
+     */
+    public static JsonObject toJson(ModelData part) {
+        if (part.texture() != null) {
+            JsonObject json = new JsonObject();
+            json.addProperty("texture", part.texture());
+            addTransformation(json, part.transformation());
+            addViewDistance(json, part.viewDistance());
+            return json;
+        }
+        ItemMeta meta = part.itemStack().getItemMeta();
+        int customModelData = meta != null && meta.hasCustomModelData() ? meta.getCustomModelData() : 0;
+        JsonObject json = toJson(part.itemStack().getType(), customModelData, part.transformation());
+        addViewDistance(json, part.viewDistance());
+        return json;
+    }
+
+    /**
+     * Returns the JSON of a part that shows an item with custom model data, in the format of model.json.
+     *
+     * @param item            The item of the part.
+     * @param customModelData The custom model data of the item.
+     * @param transformation  The transformation of the part.
+     * @return The JSON of the part.
+     */
+    public static JsonObject toJson(Material item, int customModelData, Transformation transformation) {
+        JsonObject json = new JsonObject();
+        json.addProperty("item", item.getKey().toString());
+        json.addProperty("custom_model_data", customModelData);
+        addTransformation(json, transformation);
+        return json;
+    }
+
+    /**
+     * Adds the transformation of a part to its JSON.
+     *
+     * @param json           The JSON of the part.
+     * @param transformation The transformation of the part.
+     */
+    private static void addTransformation(JsonObject json, Transformation transformation) {
+        json.add("translation", toJson(transformation.getTranslation()));
+        json.add("left_rotation", toJson(transformation.getLeftRotation()));
+        json.add("scale", toJson(transformation.getScale()));
+        json.add("right_rotation", toJson(transformation.getRightRotation()));
+    }
+
+    /**
+     * Adds the view distance of a part to its JSON, unless it is the default view distance.
+     *
+     * @param json         The JSON of the part.
+     * @param viewDistance The view distance of the part.
+     */
+    private static void addViewDistance(JsonObject json, ViewDistance viewDistance) {
+        if (viewDistance.viewRange() != ViewDistance.DEFAULT.viewRange()) {
+            json.addProperty("view_range", viewDistance.viewRange());
+        }
+        if (viewDistance.isTrackingLimited()) {
+            json.addProperty("tracking_range", viewDistance.trackingRange());
+        }
+    }
+
+    /**
+     * Returns the JSON of a vector.
+     *
+     * @param vector The vector.
+     * @return The JSON of the vector.
+     */
+    private static JsonObject toJson(Vector3fc vector) {
+        JsonObject json = new JsonObject();
+        json.addProperty("x", vector.x());
+        json.addProperty("y", vector.y());
+        json.addProperty("z", vector.z());
+        return json;
+    }
+
+    /**
+     * Returns the JSON of a quaternion.
+     *
+     * @param quaternion The quaternion.
+     * @return The JSON of the quaternion.
+     */
+    private static JsonObject toJson(Quaternionfc quaternion) {
+        JsonObject json = new JsonObject();
+        json.addProperty("x", quaternion.x());
+        json.addProperty("y", quaternion.y());
+        json.addProperty("z", quaternion.z());
+        json.addProperty("w", quaternion.w());
+        return json;
+    }
+}
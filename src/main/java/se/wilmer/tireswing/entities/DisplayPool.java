@@ -0,0 +1,185 @@
+package se.wilmer.tireswing.entities;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
+import se.wilmer.tireswing.TireSwing;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public final class DisplayPool {
+    /**
+     * The name that parked item displays are registered as owned by.
+     */
+    private static final String OWNER = "pool";
+
+    /**
+     * The number of ticks between each eviction of idle item displays.
+     */
+    private static final long EVICTION_PERIOD = 20L * 10;
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The settings of the pool.
+     */
+    private final PoolSettings settings;
+
+    /**
+     * The parked item displays of each world, the most recently parked last.
+     */
+    private final Map<UUID, ArrayDeque<Parked>> parked = new HashMap<>();
+
+    /**
+     * The number of item displays that were reused instead of spawned.
+     */
+    private long reused = 0;
+
+    /**
+     * Creates a new DisplayPool instance.
+     *
+     * @param plugin   The TireSwing plugin instance.
+     * @param settings The settings of the pool.
+     */
+    public DisplayPool(TireSwing plugin, PoolSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts removing the item displays that have been parked for too long.
+     */
+    public void start() {
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::evict, EVICTION_PERIOD, EVICTION_PERIOD);
+    }
+
+    /**
+     * Takes a parked item display of the world and moves it to the location, or spawns a new one if none is parked.
+     * <p>
+     * A reused item display is reset to how a new one is spawned before it is configured.
+     * The parked item displays that were unloaded with their chunk are skipped.
+     *
+     * @param location  The location of the item display.
+     * @param world     The world of the item display.
+     * @param configure Configures the item display, before it is added to the world if it is spawned.
+     * @return The item display.
+     */
+    public ItemDisplay take(Location location, World world, Consumer<? super ItemDisplay> configure) {
+        ArrayDeque<Parked> displays = parked.get(world.getUID());
+        while (displays != null && !displays.isEmpty()) {
+            ItemDisplay display = displays.pollLast().display();
+            if (!display.isValid()) {
+                plugin.getEntityRegistry().unregister(display);
+                continue;
+            }
+            display.teleport(location);
+            display.setVisibleByDefault(true);
+            display.setInterpolationDuration(0);
+            display.setInterpolationDelay(0);
+            display.setTeleportDuration(0);
+            configure.accept(display);
+            reused++;
+            return display;
+        }
+        return world.spawn(location, ItemDisplay.class, configure);
+    }
+
+    /**
+     * Parks an item display that is no longer used, or removes it if the pool of its world is full.
+     * <p>
+     * A parked item display is not visible by default, so no player tracks it and it costs
+     * no packets while it stays in the world. It also has an empty item and a view range of 0,
+     * and it no longer rides or carries any entity.
+     * The players it was hidden from are shown it first, because they are kept as exceptions
+     * to the default and would see it once it is hidden by default.
+     *
+     * @param display The item display.
+     */
+    public void release(ItemDisplay display) {
+        ArrayDeque<Parked> displays = parked.computeIfAbsent(display.getWorld().getUID(), uid -> new ArrayDeque<>());
+        if (!display.isValid() || displays.size() >= settings.size()) {
+            display.remove();
+            return;
+        }
+
+        display.leaveVehicle();
+        display.eject();
+        display.setViewRange(0);
+        display.setItemStack(null);
+        for (Player player : display.getWorld().getPlayers()) {
+            if (!player.canSee(display)) {
+                player.showEntity(plugin, display);
+            }
+        }
+        display.setVisibleByDefault(false);
+        plugin.getEntityRegistry().register(display, OWNER);
+        displays.addLast(new Parked(display, plugin.getServer().getCurrentTick()));
+    }
+
+    /**
+     * Removes the item displays that have been parked for longer than the idle time.
+     */
+    private void evict() {
+        long oldestTick = plugin.getServer().getCurrentTick() - settings.idleTicks();
+        for (ArrayDeque<Parked> displays : parked.values()) {
+            while (!displays.isEmpty() && displays.peekFirst().tick() < oldestTick) {
+                remove(displays.pollFirst().display());
+            }
+        }
+    }
+
+    /**
+     * Removes every parked item display.
+     */
+    public void clear() {
+        for (ArrayDeque<Parked> displays : parked.values()) {
+            displays.forEach(entry -> remove(entry.display()));
+            displays.clear();
+        }
+    }
+
+    /**
+     * Removes a parked item display from the world.
+     *
+     * @param display The item display.
+     */
+    private void remove(ItemDisplay display) {
+        plugin.getEntityRegistry().unregister(display);
+        display.remove();
+    }
+
+    /**
+     * Returns the number of parked item displays in every world.
+     *
+     * @return The number of parked item displays.
+     */
+    public int getParkedCount() {
+        return parked.values().stream().mapToInt(ArrayDeque::size).sum();
+    }
+
+    /**
+     * Returns the number of item displays that were reused instead of spawned.
+     *
+     * @return The number of reused item displays.
+     */
+    public long getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * An item display that is parked in the pool.
+     *
+     * @param display The item display.
+     * @param tick    The tick the item display was parked on.
+     */
+    private record Parked(ItemDisplay display, long tick) {
+    }
+}
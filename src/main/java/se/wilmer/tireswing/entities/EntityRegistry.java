@@ -0,0 +1,114 @@
+package se.wilmer.tireswing.entities;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.persistence.PersistentDataType;
+import se.wilmer.tireswing.TireSwing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public final class EntityRegistry {
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The key of the tag that marks an entity as spawned by a tire swing, with the tire swing as its value.
+     */
+    private final NamespacedKey ownerKey;
+
+    /**
+     * The unique ids of every entity that is owned by a tire swing.
+     */
+    private final Set<UUID> owned = new HashSet<>();
+
+    /**
+     * Creates a new EntityRegistry instance.
+     *
+     * @param plugin The TireSwing plugin instance.
+     */
+    public EntityRegistry(TireSwing plugin) {
+        this.plugin = plugin;
+        this.ownerKey = new NamespacedKey(plugin, "owner");
+    }
+
+    /**
+     * Tags an entity as spawned by a tire swing, and registers it as owned.
+     * <p>
+     * This should be called before the entity is added to the world, so an entity is never untagged.
+     *
+     * @param entity The entity.
+     * @param owner  The name of the tire swing that owns the entity.
+     */
+    public void register(Entity entity, String owner) {
+        entity.getPersistentDataContainer().set(ownerKey, PersistentDataType.STRING, owner);
+        owned.add(entity.getUniqueId());
+    }
+
+    /**
+     * Unregisters an entity that is no longer owned.
+     *
+     * @param entity The entity.
+     */
+    public void unregister(Entity entity) {
+        owned.remove(entity.getUniqueId());
+    }
+
+    /**
+     * Returns the number of entities that are owned by a tire swing.
+     *
+     * @return The number of owned entities.
+     */
+    public int getOwnedCount() {
+        return owned.size();
+    }
+
+    /**
+     * Finds the leaked entities in every loaded chunk.
+     * <p>
+     * An entity is leaked when it is tagged as spawned by a tire swing, but no tire swing owns it.
+     *
+     * @return The leaked entities.
+     */
+    public List<Entity> findLeaks() {
+        List<Entity> leaks = new ArrayList<>();
+        for (World world : plugin.getServer().getWorlds()) {
+            for (Entity entity : world.getEntitiesByClasses(Display.class, Interaction.class)) {
+                if (entity.getPersistentDataContainer().has(ownerKey, PersistentDataType.STRING)
+                        && !owned.contains(entity.getUniqueId())) {
+                    leaks.add(entity);
+                }
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * Removes the leaked entities in every loaded chunk.
+     *
+     * @return The number of removed entities.
+     */
+    public int removeLeaks() {
+        List<Entity> leaks = findLeaks();
+        leaks.forEach(Entity::remove);
+        return leaks.size();
+    }
+
+    /**
+     * Returns the name of the tire swing that a leaked entity was spawned by.
+     *
+     * @param entity The entity.
+     * @return The name of the tire swing, or null if the entity isn't tagged.
+     */
+    public String getOwner(Entity entity) {
+        return entity.getPersistentDataContainer().get(ownerKey, PersistentDataType.STRING);
+    }
+}
@@ -1,10 +1,22 @@
 package se.wilmer.tireswing.entities;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.util.Transformation;
+import org.bukkit.util.Vector;
 
-public record FulcrumEntity(Location location, BlockData blockData, Transformation transformation, double radius) {
+public record FulcrumEntity(Location location, BlockData blockData, Transformation transformation, double radius, ViewDistance viewDistance) {
+    /**
+     * Returns a copy of the fulcrum entity that is moved by the given offset.
+     *
+     * @param world  The world of the moved fulcrum entity.
+     * @param offset The offset to move the fulcrum entity by.
+     * @return The moved fulcrum entity.
+     */
+    public FulcrumEntity offset(World world, Vector offset) {
+        Location moved = location.clone().add(offset);
+        moved.setWorld(world);
+        return new FulcrumEntity(moved, blockData, transformation, radius, viewDistance);
+    }
 }
-
-
@@ -1,6 +1,20 @@
 package se.wilmer.tireswing.entities;
 
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
 
-public record InteractionEntity(float width, float height, Location location) {
+public record InteractionEntity(float width, float height, Location location, ViewDistance viewDistance) {
+    /**
+     * Returns a copy of the interaction entity that is moved by the given offset.
+     *
+     * @param world  The world of the moved interaction entity.
+     * @param offset The offset to move the interaction entity by.
+     * @return The moved interaction entity.
+     */
+    public InteractionEntity offset(World world, Vector offset) {
+        Location moved = location.clone().add(offset);
+        moved.setWorld(world);
+        return new InteractionEntity(width, height, moved, viewDistance);
+    }
 }
@@ -0,0 +1,13 @@
+package se.wilmer.tireswing.entities;
+
+/**
+ * The distances a tire swing spawns and despawns its entities at.
+ * <p>
+ * The despawn distance is larger than the spawn distance, so a player that walks along the edge
+ * doesn't make the tire swing spawn and despawn over and over.
+ *
+ * @param spawnDistance   The distance a player has to come within for the entities to spawn (blocks).
+ * @param despawnDistance The distance every player has to be beyond for the entities to despawn (blocks).
+ */
+public record Materialization(double spawnDistance, double despawnDistance) {
+}
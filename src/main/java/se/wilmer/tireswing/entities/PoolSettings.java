@@ -0,0 +1,10 @@
+package se.wilmer.tireswing.entities;
+
+/**
+ * The settings of the pool of parked item displays.
+ *
+ * @param size      The most item displays that are parked in each world.
+ * @param idleTicks The time an item display may stay parked before it is removed (ticks).
+ */
+public record PoolSettings(int size, long idleTicks) {
+}
@@ -0,0 +1,23 @@
+package se.wilmer.tireswing.entities;
+
+/**
+ * How far away an entity is rendered and tracked.
+ *
+ * @param viewRange     The view range of a display, relative to the entity display distance of the client.
+ * @param trackingRange The distance players are sent the entity within (blocks), or 0 to use the server default.
+ */
+public record ViewDistance(float viewRange, int trackingRange) {
+    /**
+     * The view distance of an entity that is not configured.
+     */
+    public static final ViewDistance DEFAULT = new ViewDistance(1.0f, 0);
+
+    /**
+     * Returns if the entity is only tracked within its own distance.
+     *
+     * @return if the entity is only tracked within its own distance.
+     */
+    public boolean isTrackingLimited() {
+        return trackingRange > 0;
+    }
+}
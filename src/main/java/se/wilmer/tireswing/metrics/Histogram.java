@@ -0,0 +1,107 @@
+package se.wilmer.tireswing.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Histogram {
+    /**
+     * The upper bound of each bucket, in ascending order.
+     */
+    private final long[] bounds;
+
+    /**
+     * The number of observations in each bucket, with a last bucket for the observations above every bound.
+     */
+    private final LongAdder[] buckets;
+
+    /**
+     * The sum of all observations.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The number of observations.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a new Histogram instance.
+     *
+     * @param bounds The upper bound of each bucket, in ascending order.
+     */
+    public Histogram(long... bounds) {
+        this.bounds = bounds.clone();
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records an observation.
+     * <p>
+     * Only the bucket of the observation is counted, and the buckets are summed up when they are read,
+     * so recording stays cheap on the main thread.
+     *
+     * @param value The observed value.
+     */
+    public void observe(long value) {
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(value);
+        count.increment();
+    }
+
+    /**
+     * Returns the number of buckets, without the bucket for the observations above every bound.
+     *
+     * @return The number of buckets.
+     */
+    public int getBucketCount() {
+        return bounds.length;
+    }
+
+    /**
+     * Returns the upper bound of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The upper bound of the bucket.
+     */
+    public long getBound(int bucket) {
+        return bounds[bucket];
+    }
+
+    /**
+     * Returns the number of observations at or below the upper bound of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The cumulative number of observations of the bucket.
+     */
+    public long getCumulativeCount(int bucket) {
+        long total = 0;
+        for (int i = 0; i <= bucket; i++) {
+            total += buckets[i].sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the sum of all observations.
+     *
+     * @return The sum of all observations.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the number of observations.
+     *
+     * @return The number of observations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,176 @@
+package se.wilmer.tireswing.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import se.wilmer.tireswing.TireSwing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class MetricsServer {
+    /**
+     * The content type of the Prometheus text format.
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The port that the endpoint is bound to.
+     */
+    private final int port;
+
+    /**
+     * The thread that answers the scrapes, so they never run on the main thread.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The HTTP server of the endpoint, or null if it is not started.
+     */
+    private HttpServer server;
+
+    /**
+     * Creates a new MetricsServer instance.
+     *
+     * @param plugin The TireSwing plugin instance.
+     * @param port   The port to bind the endpoint to.
+     */
+    public MetricsServer(TireSwing plugin, int port) {
+        this.plugin = plugin;
+        this.port = port;
+    }
+
+    /**
+     * Starts the endpoint on {@code /metrics}, bound to the loopback address.
+     *
+     * @return if the endpoint was started.
+     */
+    public boolean start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            plugin.getComponentLogger().error("Could not bind the metrics endpoint to port {}", port, e);
+            return false;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TireSwing Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        return true;
+    }
+
+    /**
+     * Stops the endpoint, if it is started.
+     */
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    /**
+     * Answers a scrape with the current metrics.
+     *
+     * @param exchange The exchange of the scrape.
+     * @throws IOException If the response can't be written.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = write().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text format.
+     * <p>
+     * Every metric is read from lock-free counters, so writing them doesn't wait for the main thread.
+     *
+     * @return The metrics in the Prometheus text format.
+     */
+    private String write() {
+        SwingMetrics metrics = plugin.getSwingMetrics();
+        TickTimings timings = plugin.getTickTimings();
+        StringBuilder builder = new StringBuilder();
+
+        writeHeader(builder, "tireswing_swings", "gauge", "The number of tire swings.");
+        builder.append("tireswing_swings ").append(metrics.getSwings()).append('\n');
+        writeHeader(builder, "tireswing_active_swings", "gauge", "The number of tire swings that are swinging.");
+        builder.append("tireswing_active_swings ").append(metrics.getActiveSwings()).append('\n');
+        writeHeader(builder, "tireswing_rides_total", "counter", "The number of rides that have started.");
+        builder.append("tireswing_rides_total ").append(metrics.getRides()).append('\n');
+        writeHeader(builder, "tireswing_entities_spawned_total", "counter", "The number of entities the tire swings have spawned.");
+        builder.append("tireswing_entities_spawned_total ").append(metrics.getEntitiesSpawned()).append('\n');
+
+        writeHeader(builder, "tireswing_tick_phase_seconds", "histogram", "The time spent in each phase of the swing ticks.");
+        for (TickPhase phase : TickPhase.values()) {
+            String label = "phase=\"" + phase.name().toLowerCase(Locale.ROOT) + "\"";
+            writeHistogram(builder, "tireswing_tick_phase_seconds", label, timings.getHistogram(phase), 1.0E-9);
+        }
+
+        writeHeader(builder, "tireswing_display_updates", "histogram", "The number of display updates sent in each frame.");
+        writeHistogram(builder, "tireswing_display_updates", null, metrics.getDisplayUpdates(), 1);
+        return builder.toString();
+    }
+
+    /**
+     * Writes the help and type lines of a metric.
+     *
+     * @param builder The builder to write to.
+     * @param name    The name of the metric.
+     * @param type    The type of the metric.
+     * @param help    The description of the metric.
+     */
+    private static void writeHeader(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes the buckets, sum and count of a histogram.
+     *
+     * @param builder   The builder to write to.
+     * @param name      The name of the metric.
+     * @param label     The label of the histogram, or null if it has none.
+     * @param histogram The histogram.
+     * @param unit      The factor that converts the observations to the unit of the metric.
+     */
+    private static void writeHistogram(StringBuilder builder, String name, String label, Histogram histogram, double unit) {
+        String prefix = label == null ? "" : label + ",";
+        long count = histogram.getCount();
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            builder.append(name).append("_bucket{").append(prefix).append("le=\"").append(histogram.getBound(i) * unit)
+                    .append("\"} ").append(Math.min(histogram.getCumulativeCount(i), count)).append('\n');
+        }
+        builder.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(count).append('\n');
+
+        String labels = label == null ? "" : "{" + label + "}";
+        builder.append(name).append("_sum").append(labels).append(' ').append(histogram.getSum() * unit).append('\n');
+        builder.append(name).append("_count").append(labels).append(' ').append(count).append('\n');
+    }
+}
@@ -0,0 +1,134 @@
+package se.wilmer.tireswing.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SwingMetrics {
+    /**
+     * The upper bounds of the display update buckets of a frame.
+     */
+    private static final long[] UPDATE_BUCKETS = {0L, 1L, 2L, 4L, 8L, 16L, 32L, 64L};
+
+    /**
+     * The number of tire swings that exist.
+     */
+    private final AtomicInteger swings = new AtomicInteger();
+
+    /**
+     * The number of tire swings that are swinging.
+     */
+    private final AtomicInteger activeSwings = new AtomicInteger();
+
+    /**
+     * The number of rides that have started.
+     */
+    private final LongAdder rides = new LongAdder();
+
+    /**
+     * The number of entities that have been spawned.
+     */
+    private final LongAdder entitiesSpawned = new LongAdder();
+
+    /**
+     * The number of display updates of each frame.
+     */
+    private final Histogram displayUpdates = new Histogram(UPDATE_BUCKETS);
+
+    /**
+     * Records that a tire swing was added.
+     */
+    public void addSwing() {
+        swings.incrementAndGet();
+    }
+
+    /**
+     * Records that a tire swing was removed.
+     */
+    public void removeSwing() {
+        swings.decrementAndGet();
+    }
+
+    /**
+     * Records that a tire swing started swinging.
+     */
+    public void startSwing() {
+        activeSwings.incrementAndGet();
+    }
+
+    /**
+     * Records that a tire swing stopped swinging.
+     */
+    public void stopSwing() {
+        activeSwings.decrementAndGet();
+    }
+
+    /**
+     * Records that a ride started.
+     */
+    public void addRide() {
+        rides.increment();
+    }
+
+    /**
+     * Records that entities were spawned.
+     *
+     * @param count The number of spawned entities.
+     */
+    public void addEntitiesSpawned(int count) {
+        entitiesSpawned.add(count);
+    }
+
+    /**
+     * Records the display updates of a frame.
+     *
+     * @param updates The number of display updates in the frame.
+     */
+    public void recordFrame(int updates) {
+        displayUpdates.observe(updates);
+    }
+
+    /**
+     * Returns the number of tire swings that exist.
+     *
+     * @return The number of tire swings that exist.
+     */
+    public int getSwings() {
+        return swings.get();
+    }
+
+    /**
+     * Returns the number of tire swings that are swinging.
+     *
+     * @return The number of tire swings that are swinging.
+     */
+    public int getActiveSwings() {
+        return activeSwings.get();
+    }
+
+    /**
+     * Returns the number of rides that have started.
+     *
+     * @return The number of rides that have started.
+     */
+    public long getRides() {
+        return rides.sum();
+    }
+
+    /**
+     * Returns the number of entities that have been spawned.
+     *
+     * @return The number of entities that have been spawned.
+     */
+    public long getEntitiesSpawned() {
+        return entitiesSpawned.sum();
+    }
+
+    /**
+     * Returns the number of display updates of each frame.
+     *
+     * @return The number of display updates of each frame.
+     */
+    public Histogram getDisplayUpdates() {
+        return displayUpdates;
+    }
+}
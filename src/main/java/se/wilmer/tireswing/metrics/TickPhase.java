@@ -0,0 +1,18 @@
+package se.wilmer.tireswing.metrics;
+
+public enum TickPhase {
+    /**
+     * Stepping the pendulums of the swings.
+     */
+    PHYSICS,
+
+    /**
+     * Computing the transformations of the displays.
+     */
+    ROTATION,
+
+    /**
+     * Sending the bundled display updates to the viewers.
+     */
+    NETWORK
+}
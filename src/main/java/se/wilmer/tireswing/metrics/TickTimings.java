@@ -0,0 +1,64 @@
+package se.wilmer.tireswing.metrics;
+
+public final class TickTimings {
+    /**
+     * The upper bounds of the duration buckets of a phase (nanoseconds), from 10 microseconds to 10 milliseconds.
+     */
+    private static final long[] BUCKETS = {
+            10_000L, 25_000L, 50_000L, 100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L
+    };
+
+    /**
+     * The durations of each phase (nanoseconds).
+     */
+    private final Histogram[] histograms = new Histogram[TickPhase.values().length];
+
+    /**
+     * Creates a new TickTimings instance.
+     */
+    public TickTimings() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram(BUCKETS);
+        }
+    }
+
+    /**
+     * Records the time spent in a phase.
+     *
+     * @param phase The phase the time was spent in.
+     * @param nanos The time spent in the phase (nanoseconds).
+     */
+    public void record(TickPhase phase, long nanos) {
+        histograms[phase.ordinal()].observe(nanos);
+    }
+
+    /**
+     * Returns the total time spent in a phase.
+     *
+     * @param phase The phase.
+     * @return The total time spent in the phase (nanoseconds).
+     */
+    public long getNanos(TickPhase phase) {
+        return histograms[phase.ordinal()].getSum();
+    }
+
+    /**
+     * Returns the number of samples of a phase.
+     *
+     * @param phase The phase.
+     * @return The number of samples of the phase.
+     */
+    public long getSamples(TickPhase phase) {
+        return histograms[phase.ordinal()].getCount();
+    }
+
+    /**
+     * Returns the durations of a phase.
+     *
+     * @param phase The phase.
+     * @return The durations of the phase (nanoseconds).
+     */
+    public Histogram getHistogram(TickPhase phase) {
+        return histograms[phase.ordinal()];
+    }
+}
@@ -3,23 +3,36 @@ package se.wilmer.tireswing.model;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.ItemDisplay;
+import se.wilmer.tireswing.entities.DisplayPool;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 public final class Model {
-    private final List<ModelData> modelDataList;
-    private final List<ModelEntity> modelEntities;
+    /**
+     * The shared template of the model.
+     */
+    private ModelTemplate template;
+
+    /**
+     * The spawned item display of each part, or null entries if the model is not spawned.
+     */
+    private ItemDisplay[] itemDisplays;
 
     /**
-     * Constructs a new Model instance with the given model data.
+     * If the item displays of the model are spawned.
+     */
+    private boolean spawned = false;
+
+    /**
+     * Constructs a new Model instance of the given template.
      *
-     * @param modelDataList The list of model data.
+     * @param template The shared template of the model.
      */
-    public Model(List<ModelData> modelDataList) {
-        this.modelDataList = modelDataList;
-        modelEntities = new ArrayList<>();
+    public Model(ModelTemplate template) {
+        this.template = template;
+        this.itemDisplays = new ItemDisplay[template.size()];
     }
 
     /**
@@ -27,43 +40,166 @@ public final class Model {
      *
      * @param location The location where to spawn the model entities.
      * @param world The world where to spawn the model entities.
+     * @param pool The pool to take parked entities from, or null if every entity is spawned.
+     * @param configure Configures each entity before it is added to the world.
      */
-    public void spawn(Location location, World world) {
-        modelDataList.forEach(modelData -> {
-            ItemDisplay itemDisplay = world.spawn(location, ItemDisplay.class, display -> {
-                display.setTransformation(modelData.transformation());
-                display.setItemStack(modelData.itemStack());
-                display.setPersistent(false);
-            });
-
-            ModelEntity modelEntity = new ModelEntity(modelData, itemDisplay);
-            modelEntities.add(modelEntity);
-        });
+    public void spawn(Location location, World world, DisplayPool pool, Consumer<? super ItemDisplay> configure) {
+        for (int i = 0; i < itemDisplays.length; i++) {
+            itemDisplays[i] = spawnPart(i, location, world, pool, configure);
+        }
+        spawned = true;
     }
 
     /**
-     * Removes all spawned model entities.
+     * Spawns the item display of a part, or takes a parked one from the pool.
+     *
+     * @param index     The index of the part.
+     * @param location  The location where to spawn the item display.
+     * @param world     The world where to spawn the item display.
+     * @param pool      The pool to take a parked entity from, or null if the entity is spawned.
+     * @param configure Configures the entity before it is added to the world.
+     * @return The spawned item display.
      */
-    public void clear() {
-        modelEntities.clear();
+    private ItemDisplay spawnPart(int index, Location location, World world, DisplayPool pool, Consumer<? super ItemDisplay> configure) {
+        Consumer<ItemDisplay> part = display -> {
+            display.setTransformation(template.getTransformation(index));
+            display.setItemStack(template.getItemStack(index));
+            display.setViewRange(template.getViewDistance(index).viewRange());
+            display.setPersistent(false);
+            configure.accept(display);
+        };
+        return pool == null ? world.spawn(location, ItemDisplay.class, part) : pool.take(location, world, part);
     }
 
     /**
-     * Returns an unmodifiable list of model entities.
+     * Removes the item display of a part, or parks it in the pool.
      *
-     * @return An unmodifiable list of model entities.
+     * @param display The item display.
+     * @param pool    The pool to park the entity in, or null if the entity is removed.
      */
-    public List<ModelEntity> getModelEntities() {
-        return Collections.unmodifiableList(modelEntities);
+    private static void removePart(ItemDisplay display, DisplayPool pool) {
+        if (pool == null) {
+            display.remove();
+        } else {
+            pool.release(display);
+        }
     }
 
     /**
-     * Returns an unmodifiable list of model datas.
+     * Changes the template of the model, and only updates the parts that have changed.
+     * <p>
+     * The parts are compared by index. A part that is in both templates keeps its item display,
+     * and only its changed transformation, item or view range is set on it. Only the parts
+     * past the end of the old template are spawned, and only the parts past the end of the new
+     * template are removed. If the model is not spawned, only the template is changed.
      *
-     * @return An unmodifiable list of model datas.
+     * @param template  The new template of the model.
+     * @param location  The location where to spawn the added parts.
+     * @param world     The world where to spawn the added parts.
+     * @param pool      The pool to take and park entities in, or null if they are spawned and removed.
+     * @param configure Configures each added entity before it is added to the world.
+     * @param removed   Called with each removed entity before it is removed.
+     * @return The difference between the old and the new template.
      */
-    public List<ModelData> getModelDataList() {
-        return Collections.unmodifiableList(modelDataList);
+    public ModelDiff apply(ModelTemplate template, Location location, World world, DisplayPool pool, Consumer<? super ItemDisplay> configure, Consumer<? super ItemDisplay> removed) {
+        ModelTemplate oldTemplate = this.template;
+        ItemDisplay[] oldDisplays = itemDisplays;
+        int kept = Math.min(oldTemplate.size(), template.size());
+        this.template = template;
+        this.itemDisplays = Arrays.copyOf(oldDisplays, template.size());
+
+        int changed = 0;
+        for (int i = 0; i < kept; i++) {
+            ModelData oldPart = oldTemplate.getParts().get(i);
+            ModelData part = template.getParts().get(i);
+            if (oldPart.equals(part)) {
+                continue;
+            }
+            changed++;
+            ItemDisplay display = itemDisplays[i];
+            if (display == null) {
+                continue;
+            }
+            if (!oldPart.transformation().equals(part.transformation())) {
+                display.setTransformation(part.transformation());
+            }
+            if (!Objects.equals(oldPart.itemStack(), part.itemStack())) {
+                display.setItemStack(part.itemStack());
+            }
+            if (oldPart.viewDistance().viewRange() != part.viewDistance().viewRange()) {
+                display.setViewRange(part.viewDistance().viewRange());
+            }
+        }
+
+        for (int i = kept; i < oldDisplays.length; i++) {
+            if (oldDisplays[i] != null) {
+                removed.accept(oldDisplays[i]);
+                removePart(oldDisplays[i], pool);
+            }
+        }
+        if (spawned) {
+            for (int i = kept; i < itemDisplays.length; i++) {
+                itemDisplays[i] = spawnPart(i, location, world, pool, configure);
+            }
+        }
+        return new ModelDiff(changed, template.size() - kept, oldTemplate.size() - kept);
     }
-}
 
+    /**
+     * Removes all spawned model entities from the world.
+     * <p>
+     * The entities are removed even if some of them were already unloaded,
+     * so a model that is spawned again never leaves the old entities behind.
+     * With a pool, the entities that are still loaded are parked instead, so they can be reused.
+     *
+     * @param pool    The pool to park the entities in, or null if they are removed.
+     * @param removed Called with each entity before it is removed.
+     */
+    public void remove(DisplayPool pool, Consumer<? super ItemDisplay> removed) {
+        for (ItemDisplay itemDisplay : itemDisplays) {
+            if (itemDisplay != null) {
+                removed.accept(itemDisplay);
+                removePart(itemDisplay, pool);
+            }
+        }
+        Arrays.fill(itemDisplays, null);
+        spawned = false;
+    }
+
+    /**
+     * Returns if the model entities are spawned.
+     *
+     * @return if the model entities are spawned.
+     */
+    public boolean isSpawned() {
+        return spawned;
+    }
+
+    /**
+     * Returns the number of parts of the model.
+     *
+     * @return The number of parts of the model.
+     */
+    public int size() {
+        return itemDisplays.length;
+    }
+
+    /**
+     * Returns the spawned item display of a part.
+     *
+     * @param index The index of the part.
+     * @return The item display of the part, or null if the model is not spawned.
+     */
+    public ItemDisplay getItemDisplay(int index) {
+        return itemDisplays[index];
+    }
+
+    /**
+     * Returns the shared template of the model.
+     *
+     * @return The shared template of the model.
+     */
+    public ModelTemplate getTemplate() {
+        return template;
+    }
+}
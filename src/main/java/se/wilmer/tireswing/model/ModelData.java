@@ -2,6 +2,7 @@ package se.wilmer.tireswing.model;
 
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Transformation;
+import se.wilmer.tireswing.entities.ViewDistance;
 
-public record ModelData(ItemStack itemStack, Transformation transformation) {
-}
\ No newline at end of file
+public record ModelData(ItemStack itemStack, String texture, Transformation transformation, ViewDistance viewDistance) {
+}
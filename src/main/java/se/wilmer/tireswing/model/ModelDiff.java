@@ -0,0 +1,34 @@
+package se.wilmer.tireswing.model;
+
+/**
+ * The difference between two templates of a model, compared part by part.
+ *
+ * @param changed The number of parts that were updated in place.
+ * @param added   The number of parts that were spawned.
+ * @param removed The number of parts that were removed.
+ */
+public record ModelDiff(int changed, int added, int removed) {
+    /**
+     * The difference of a model that has not changed.
+     */
+    public static final ModelDiff NONE = new ModelDiff(0, 0, 0);
+
+    /**
+     * Returns the sum of this difference and another difference.
+     *
+     * @param other The other difference.
+     * @return The sum of both differences.
+     */
+    public ModelDiff plus(ModelDiff other) {
+        return new ModelDiff(changed + other.changed, added + other.added, removed + other.removed);
+    }
+
+    /**
+     * Returns if no part has changed.
+     *
+     * @return if no part has changed.
+     */
+    public boolean isEmpty() {
+        return changed == 0 && added == 0 && removed == 0;
+    }
+}
@@ -1,6 +0,0 @@
-package se.wilmer.tireswing.model;
-
-import org.bukkit.entity.ItemDisplay;
-
-public record ModelEntity(ModelData modelData, ItemDisplay itemDisplay) {
-}
\ No newline at end of file
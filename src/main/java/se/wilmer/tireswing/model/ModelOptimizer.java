@@ -0,0 +1,241 @@
+package se.wilmer.tireswing.model;
+
+import org.bukkit.util.Transformation;
+import org.joml.Matrix3f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ModelOptimizer {
+    /**
+     * The largest difference of a matrix element that still counts as zero.
+     */
+    private static final float EPSILON = 1.0E-4f;
+
+    /**
+     * The largest distance a merged part may differ from the parts it replaces (blocks).
+     */
+    private final float tolerance;
+
+    /**
+     * The largest factor a texture was stretched by in the last optimized model.
+     */
+    private float textureStretch = 1;
+
+    /**
+     * Creates a new ModelOptimizer instance.
+     *
+     * @param tolerance The largest distance a merged part may differ from the parts it replaces (blocks).
+     */
+    public ModelOptimizer(float tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Merges the parts of a model into fewer, larger parts.
+     * <p>
+     * Two heads are merged when they have the same texture, view distance and rotations, line up on two axes
+     * of their rotated space, and touch or overlap on the third. The merged head is stretched
+     * over both, so it is only done while the lined up sides differ by at most the tolerance.
+     * Merging is repeated until no two parts can be merged.
+     * <p>
+     * The tolerance only bounds the shape, a merged head draws its texture once over the whole box,
+     * so the textures of the heads it replaces are stretched. The largest stretch is returned
+     * by {@link #getTextureStretch()}.
+     * <p>
+     * Every merge restarts the search from the first part, which is O(n^3) in the number of parts.
+     * That is fine for a command that runs once on a model of a few hundred heads, but not on a tick.
+     * <p>
+     * The order of the parts is kept, and a merged part takes the place of the first of its parts,
+     * so the first part of the rotational model stays the root.
+     *
+     * @param parts The parts of the model.
+     * @return The optimized parts of the model.
+     */
+    public List<ModelData> optimize(List<ModelData> parts) {
+        List<Box> boxes = new ArrayList<>();
+        for (ModelData part : parts) {
+            boxes.add(Box.of(part));
+        }
+
+        textureStretch = 1;
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < boxes.size() && !merged; i++) {
+                for (int j = i + 1; j < boxes.size(); j++) {
+                    Box box = merge(boxes.get(i), boxes.get(j));
+                    if (box != null) {
+                        textureStretch = Math.max(textureStretch, box.stretch().get(box.stretch().maxComponent()));
+                        boxes.set(i, box);
+                        boxes.remove(j);
+                        merged = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return boxes.stream().map(Box::part).toList();
+    }
+
+    /**
+     * Returns the largest factor a texture was stretched by in the last optimized model.
+     * <p>
+     * A factor of 2 means that a texture is drawn twice as large as on the head it came from.
+     *
+     * @return The largest texture stretch, 1 if no part was merged.
+     */
+    public float getTextureStretch() {
+        return textureStretch;
+    }
+
+    /**
+     * Merges two boxes, if they can be merged.
+     *
+     * @param first  The first box.
+     * @param second The second box.
+     * @return The merged box, or null if the boxes can't be merged.
+     */
+    private Box merge(Box first, Box second) {
+        if (first.min() == null || second.min() == null) {
+            return null;
+        }
+        ModelData firstPart = first.part();
+        ModelData secondPart = second.part();
+        if (!firstPart.texture().equals(secondPart.texture())
+                || !firstPart.viewDistance().equals(secondPart.viewDistance())
+                || !firstPart.transformation().getLeftRotation().equals(secondPart.transformation().getLeftRotation(), EPSILON)
+                || !firstPart.transformation().getRightRotation().equals(secondPart.transformation().getRightRotation(), EPSILON)) {
+            return null;
+        }
+
+        for (int axis = 0; axis < 3; axis++) {
+            if (isLinedUp(first, second, axis) && touches(first, second, axis)) {
+                Box box = first.union(second);
+                if (box != null) {
+                    return box;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns if two boxes line up on every axis other than the given one.
+     *
+     * @param first  The first box.
+     * @param second The second box.
+     * @param axis   The axis the boxes are merged along.
+     * @return if the boxes line up.
+     */
+    private boolean isLinedUp(Box first, Box second, int axis) {
+        for (int other = 0; other < 3; other++) {
+            if (other == axis) {
+                continue;
+            }
+            if (Math.abs(first.min().get(other) - second.min().get(other)) > tolerance
+                    || Math.abs(first.max().get(other) - second.max().get(other)) > tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if two boxes touch or overlap along an axis.
+     *
+     * @param first  The first box.
+     * @param second The second box.
+     * @param axis   The axis the boxes are merged along.
+     * @return if the boxes touch or overlap.
+     */
+    private boolean touches(Box first, Box second, int axis) {
+        return second.min().get(axis) <= first.max().get(axis) + tolerance
+                && first.min().get(axis) <= second.max().get(axis) + tolerance;
+    }
+
+    /**
+     * A head part as a box in the space of its left rotation.
+     * <p>
+     * A part is drawn at T + S * L * head, which is the box p + S' * head in the rotated space,
+     * where p = inverse(L) * T and S' = inverse(L) * S * L. The box only exists when S' is a scale,
+     * which is when the part is not rotated, rotated by quarter turns, or scaled evenly across its rotation.
+     *
+     * @param part    The part.
+     * @param min     The corner of the box with the lowest coordinates, or null if the part can't be merged.
+     * @param max     The corner of the box with the highest coordinates, or null if the part can't be merged.
+     * @param stretch The largest factor the textures of the original heads are stretched by along each axis.
+     */
+    private record Box(ModelData part, Vector3f min, Vector3f max, Vector3f stretch) {
+        /**
+         * Returns the box of a part.
+         *
+         * @param part The part.
+         * @return The box of the part, without corners if the part can't be merged.
+         */
+        private static Box of(ModelData part) {
+            Transformation transformation = part.transformation();
+            Vector3f scale = new Vector3f(transformation.getScale());
+            if (part.texture() == null || scale.x <= 0 || scale.y <= 0 || scale.z <= 0) {
+                return new Box(part, null, null, new Vector3f(1));
+            }
+
+            Matrix3f rotation = new Matrix3f().rotation(transformation.getLeftRotation());
+            Matrix3f rotatedScale = rotation.transpose(new Matrix3f()).mul(new Matrix3f().scaling(scale)).mul(rotation);
+            if (!isScale(rotatedScale)) {
+                return new Box(part, null, null, new Vector3f(1));
+            }
+            Vector3f localScale = new Vector3f(rotatedScale.m00(), rotatedScale.m11(), rotatedScale.m22());
+            Vector3f position = rotation.transformTranspose(new Vector3f(transformation.getTranslation()));
+            Vector3f min = new Vector3f(ModelTemplate.HEAD_MIN).mul(localScale).add(position);
+            Vector3f max = new Vector3f(ModelTemplate.HEAD_MAX).mul(localScale).add(position);
+            return new Box(part, min, max, new Vector3f(1));
+        }
+
+        /**
+         * Returns the box that covers this box and another box.
+         *
+         * @param other The other box.
+         * @return The box that covers both boxes, or null if it can't be drawn by a part.
+         */
+        private Box union(Box other) {
+            Vector3f min = this.min.min(other.min, new Vector3f());
+            Vector3f max = this.max.max(other.max, new Vector3f());
+            Vector3f head = new Vector3f(ModelTemplate.HEAD_MAX).sub(ModelTemplate.HEAD_MIN);
+            Vector3f localScale = max.sub(min, new Vector3f()).div(head);
+            Vector3f position = min.sub(new Vector3f(ModelTemplate.HEAD_MIN).mul(localScale), new Vector3f());
+
+            Transformation transformation = part.transformation();
+            Matrix3f rotation = new Matrix3f().rotation(transformation.getLeftRotation());
+            Matrix3f scale = new Matrix3f(rotation).mul(new Matrix3f().scaling(localScale)).mul(rotation.transpose(new Matrix3f()));
+            if (!isScale(scale)) {
+                return null;
+            }
+
+            ModelData merged = new ModelData(part.itemStack(), part.texture(), new Transformation(
+                    rotation.transform(position),
+                    new Quaternionf(transformation.getLeftRotation()),
+                    new Vector3f(scale.m00(), scale.m11(), scale.m22()),
+                    new Quaternionf(transformation.getRightRotation())
+            ), part.viewDistance());
+            Vector3f size = max.sub(min, new Vector3f());
+            Vector3f stretch = size.div(this.max.sub(this.min, new Vector3f()), new Vector3f()).mul(this.stretch)
+                    .max(size.div(other.max.sub(other.min, new Vector3f()), new Vector3f()).mul(other.stretch));
+            return new Box(merged, min, max, stretch);
+        }
+
+        /**
+         * Returns if a matrix only scales along the axes.
+         *
+         * @param matrix The matrix.
+         * @return if the matrix only scales along the axes.
+         */
+        private static boolean isScale(Matrix3f matrix) {
+            return Math.abs(matrix.m01()) < EPSILON && Math.abs(matrix.m02()) < EPSILON
+                    && Math.abs(matrix.m10()) < EPSILON && Math.abs(matrix.m12()) < EPSILON
+                    && Math.abs(matrix.m20()) < EPSILON && Math.abs(matrix.m21()) < EPSILON;
+        }
+    }
+}
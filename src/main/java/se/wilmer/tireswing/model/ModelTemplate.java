@@ -0,0 +1,110 @@
+package se.wilmer.tireswing.model;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import se.wilmer.tireswing.entities.ViewDistance;
+
+import java.util.List;
+
+public final class ModelTemplate {
+    /**
+     * The corner of a head part with the lowest coordinates, relative to its item display (blocks).
+     */
+    public static final Vector3fc HEAD_MIN = new Vector3f(-0.25f, -0.5f, -0.25f);
+
+    /**
+     * The corner of a head part with the highest coordinates, relative to its item display (blocks).
+     */
+    public static final Vector3fc HEAD_MAX = new Vector3f(0.25f, 0, 0.25f);
+
+    /**
+     * The parts of the model.
+     */
+    private final List<ModelData> parts;
+
+    /**
+     * The base transformation matrix of each part, before the part is rotated, with one slot per part.
+     */
+    private final TransformBuffer baseMatrices;
+
+    /**
+     * Constructs a new ModelTemplate instance with the given parts.
+     * <p>
+     * The template is immutable, so it can be shared by every swing that spawns the model.
+     *
+     * @param parts The parts of the model.
+     */
+    public ModelTemplate(List<ModelData> parts) {
+        this.parts = List.copyOf(parts);
+        this.baseMatrices = new TransformBuffer(this.parts.size());
+        Matrix4f matrix = new Matrix4f();
+        for (int i = 0; i < this.parts.size(); i++) {
+            Transformation transformation = this.parts.get(i).transformation();
+            baseMatrices.set(i, matrix.translation(transformation.getTranslation())
+                    .scale(transformation.getScale())
+                    .rotate(transformation.getLeftRotation()));
+        }
+    }
+
+    /**
+     * Returns the number of parts of the model.
+     *
+     * @return The number of parts of the model.
+     */
+    public int size() {
+        return parts.size();
+    }
+
+    /**
+     * Reads the base transformation matrix of a part.
+     *
+     * @param index The index of the part.
+     * @param dest  The matrix to read into.
+     * @return The given matrix.
+     */
+    public Matrix4f getBaseMatrix(int index, Matrix4f dest) {
+        return baseMatrices.get(index, dest);
+    }
+
+    /**
+     * Returns the transformation of a part.
+     *
+     * @param index The index of the part.
+     * @return The transformation of the part.
+     */
+    public Transformation getTransformation(int index) {
+        return parts.get(index).transformation();
+    }
+
+    /**
+     * Returns the head stack of a part.
+     *
+     * @param index The index of the part.
+     * @return The head stack of the part.
+     */
+    public ItemStack getItemStack(int index) {
+        return parts.get(index).itemStack();
+    }
+
+    /**
+     * Returns how far away a part is rendered and tracked.
+     *
+     * @param index The index of the part.
+     * @return The view distance of the part.
+     */
+    public ViewDistance getViewDistance(int index) {
+        return parts.get(index).viewDistance();
+    }
+
+    /**
+     * Returns an unmodifiable list of the parts of the model.
+     *
+     * @return An unmodifiable list of the parts of the model.
+     */
+    public List<ModelData> getParts() {
+        return parts;
+    }
+}
@@ -0,0 +1,105 @@
+package se.wilmer.tireswing.model;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Transformation matrices packed into one contiguous direct buffer, outside of the heap.
+ * <p>
+ * Every matrix takes a slot of {@link #STRIDE} floats in column-major order, so the matrices of all parts
+ * lie next to each other and are not scanned by the garbage collector.
+ */
+public final class TransformBuffer {
+    /**
+     * The number of floats of a slot.
+     */
+    public static final int STRIDE = 16;
+
+    /**
+     * The floats of every slot.
+     */
+    private final FloatBuffer buffer;
+
+    /**
+     * The number of slots.
+     */
+    private final int slots;
+
+    /**
+     * Creates a new TransformBuffer instance with identity matrices.
+     *
+     * @param slots The number of slots.
+     */
+    public TransformBuffer(int slots) {
+        this.slots = slots;
+        this.buffer = ByteBuffer.allocateDirect(slots * STRIDE * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        Matrix4f identity = new Matrix4f();
+        for (int slot = 0; slot < slots; slot++) {
+            set(slot, identity);
+        }
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return The number of slots.
+     */
+    public int size() {
+        return slots;
+    }
+
+    /**
+     * Writes a matrix to a slot.
+     *
+     * @param slot   The slot.
+     * @param matrix The matrix to write.
+     */
+    public void set(int slot, Matrix4fc matrix) {
+        matrix.get(slot * STRIDE, buffer);
+    }
+
+    /**
+     * Reads the matrix of a slot.
+     *
+     * @param slot The slot.
+     * @param dest The matrix to read into.
+     * @return The given matrix.
+     */
+    public Matrix4f get(int slot, Matrix4f dest) {
+        return dest.set(slot * STRIDE, buffer);
+    }
+
+    /**
+     * Returns if the matrix of a slot equals a matrix.
+     *
+     * @param slot    The slot.
+     * @param matrix  The matrix to compare with.
+     * @param epsilon The largest difference of an element that still counts as equal.
+     * @return if every element differs by at most the epsilon.
+     */
+    public boolean equals(int slot, Matrix4fc matrix, float epsilon) {
+        int offset = slot * STRIDE;
+        return Math.abs(buffer.get(offset) - matrix.m00()) <= epsilon
+                && Math.abs(buffer.get(offset + 1) - matrix.m01()) <= epsilon
+                && Math.abs(buffer.get(offset + 2) - matrix.m02()) <= epsilon
+                && Math.abs(buffer.get(offset + 3) - matrix.m03()) <= epsilon
+                && Math.abs(buffer.get(offset + 4) - matrix.m10()) <= epsilon
+                && Math.abs(buffer.get(offset + 5) - matrix.m11()) <= epsilon
+                && Math.abs(buffer.get(offset + 6) - matrix.m12()) <= epsilon
+                && Math.abs(buffer.get(offset + 7) - matrix.m13()) <= epsilon
+                && Math.abs(buffer.get(offset + 8) - matrix.m20()) <= epsilon
+                && Math.abs(buffer.get(offset + 9) - matrix.m21()) <= epsilon
+                && Math.abs(buffer.get(offset + 10) - matrix.m22()) <= epsilon
+                && Math.abs(buffer.get(offset + 11) - matrix.m23()) <= epsilon
+                && Math.abs(buffer.get(offset + 12) - matrix.m30()) <= epsilon
+                && Math.abs(buffer.get(offset + 13) - matrix.m31()) <= epsilon
+                && Math.abs(buffer.get(offset + 14) - matrix.m32()) <= epsilon
+                && Math.abs(buffer.get(offset + 15) - matrix.m33()) <= epsilon;
+    }
+}
@@ -0,0 +1,113 @@
+package se.wilmer.tireswing.network;
+
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.syncher.SynchedEntityData;
+import org.bukkit.craftbukkit.entity.CraftEntity;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class FrameBundle {
+    /**
+     * The traffic of the swing that the frames belong to.
+     */
+    private final SwingTraffic traffic;
+
+    /**
+     * The packet sizer used to measure the packets.
+     */
+    private final PacketSizer packetSizer;
+
+    /**
+     * The pending frame of each viewer.
+     */
+    private final Map<Player, ViewerFrame> viewerFrames = new HashMap<>();
+
+    /**
+     * Creates a new FrameBundle instance.
+     *
+     * @param traffic     The traffic of the swing that the frames belong to.
+     * @param packetSizer The packet sizer used to measure the packets.
+     */
+    public FrameBundle(SwingTraffic traffic, PacketSizer packetSizer) {
+        this.traffic = traffic;
+        this.packetSizer = packetSizer;
+    }
+
+    /**
+     * Adds the changed entity data of the entity to the frame.
+     * <p>
+     * The dirty entity data is packed here, so the entity tracker has nothing left to send for it,
+     * and the packet is queued for every player that is tracking the entity.
+     *
+     * @param entity The entity to add to the frame.
+     */
+    public void add(Entity entity) {
+        net.minecraft.world.entity.Entity handle = ((CraftEntity) entity).getHandle();
+        List<SynchedEntityData.DataValue<?>> values = handle.getEntityData().packDirty();
+        if (values == null) {
+            return;
+        }
+
+        ClientboundSetEntityDataPacket packet = new ClientboundSetEntityDataPacket(handle.getId(), values);
+        int size = packetSizer.entityData(packet);
+        for (Player viewer : entity.getTrackedBy()) {
+            ViewerFrame frame = viewerFrames.computeIfAbsent(viewer, player -> new ViewerFrame());
+            frame.packets.add(packet);
+            frame.bytes += size;
+        }
+    }
+
+    /**
+     * Records the movement of an entity, that is sent by the entity tracker.
+     * <p>
+     * The packet is not seen by the swing, so its size is an estimate, see {@link PacketSizer#move}.
+     *
+     * @param entity The entity that moved.
+     */
+    public void recordMove(Entity entity) {
+        int size = packetSizer.move(((CraftEntity) entity).getHandle());
+        for (Player viewer : entity.getTrackedBy()) {
+            traffic.record(viewer.getUniqueId(), TrafficType.TELEPORT, 1, size);
+        }
+    }
+
+    /**
+     * Sends the frame to every viewer as one bundle, so the client applies the frame at once.
+     */
+    public void flush() {
+        viewerFrames.forEach((viewer, frame) -> {
+            if (frame.packets.isEmpty()) {
+                return;
+            }
+            ClientboundBundlePacket bundle = new ClientboundBundlePacket(new ArrayList<>(frame.packets));
+            ((CraftPlayer) viewer).getHandle().connection.send(bundle);
+            traffic.record(
+                    viewer.getUniqueId(),
+                    TrafficType.METADATA,
+                    frame.packets.size(),
+                    frame.bytes + packetSizer.bundleDelimiters()
+            );
+
+            frame.packets.clear();
+            frame.bytes = 0;
+        });
+        viewerFrames.keySet().removeIf(viewer -> !viewer.isOnline());
+    }
+
+    /**
+     * The pending packets of a frame for one viewer.
+     */
+    private static final class ViewerFrame {
+        private final List<Packet<? super ClientGamePacketListener>> packets = new ArrayList<>();
+        private int bytes = 0;
+    }
+}
@@ -0,0 +1,163 @@
+package se.wilmer.tireswing.network;
+
+import io.papermc.paper.event.player.PlayerTrackEntityEvent;
+import org.bukkit.craftbukkit.entity.CraftEntity;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import se.wilmer.tireswing.TireSwing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class NetworkStatistics implements Listener {
+    /**
+     * The number of ticks between each rate sample.
+     */
+    private static final long SAMPLE_PERIOD = 20L;
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The packet sizer used to measure the packets.
+     */
+    private final PacketSizer packetSizer;
+
+    /**
+     * The traffic of every registered swing.
+     */
+    private final List<SwingTraffic> swingTraffics = new ArrayList<>();
+
+    /**
+     * The traffic of the swing that owns each tracked entity.
+     */
+    private final Map<UUID, SwingTraffic> entityTraffics = new HashMap<>();
+
+    /**
+     * The time of the last rate sample (nanoseconds).
+     */
+    private long lastSample;
+
+    /**
+     * Creates a new NetworkStatistics instance.
+     *
+     * @param plugin The TireSwing plugin instance.
+     */
+    public NetworkStatistics(TireSwing plugin) {
+        this.plugin = plugin;
+        this.packetSizer = new PacketSizer();
+    }
+
+    /**
+     * Starts sampling the traffic rates of the swings.
+     */
+    public void start() {
+        lastSample = System.nanoTime();
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            long now = System.nanoTime();
+            double seconds = (now - lastSample) / 1.0E9;
+            lastSample = now;
+            swingTraffics.forEach(traffic -> traffic.sample(seconds));
+        }, SAMPLE_PERIOD, SAMPLE_PERIOD);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTrackEntity(PlayerTrackEntityEvent event) {
+        Entity entity = event.getEntity();
+        SwingTraffic traffic = entityTraffics.get(entity.getUniqueId());
+        if (traffic == null) {
+            return;
+        }
+
+        net.minecraft.world.entity.Entity handle = ((CraftEntity) entity).getHandle();
+        traffic.record(
+                event.getPlayer().getUniqueId(),
+                TrafficType.SPAWN,
+                packetSizer.spawnPackets(handle),
+                packetSizer.spawn(handle)
+        );
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID viewer = event.getPlayer().getUniqueId();
+        swingTraffics.forEach(traffic -> traffic.removeViewer(viewer));
+    }
+
+    /**
+     * Registers the traffic of a new swing.
+     *
+     * @param name The name of the swing.
+     * @return The traffic of the swing.
+     */
+    public SwingTraffic register(String name) {
+        SwingTraffic traffic = new SwingTraffic(name);
+        swingTraffics.add(traffic);
+        return traffic;
+    }
+
+    /**
+     * Unregisters the traffic of a swing that has been removed.
+     *
+     * @param traffic The traffic of the swing.
+     */
+    public void unregister(SwingTraffic traffic) {
+        untrack(traffic);
+        swingTraffics.remove(traffic);
+    }
+
+    /**
+     * Tracks the spawn traffic of an entity that is owned by a swing.
+     *
+     * @param entity  The entity to track.
+     * @param traffic The traffic of the swing that owns the entity.
+     */
+    public void track(Entity entity, SwingTraffic traffic) {
+        entityTraffics.put(entity.getUniqueId(), traffic);
+    }
+
+    /**
+     * Stops tracking the spawn traffic of an entity.
+     *
+     * @param entity The entity to stop tracking.
+     */
+    public void untrack(Entity entity) {
+        entityTraffics.remove(entity.getUniqueId());
+    }
+
+    /**
+     * Stops tracking the spawn traffic of all the entities owned by a swing.
+     *
+     * @param traffic The traffic of the swing.
+     */
+    public void untrack(SwingTraffic traffic) {
+        entityTraffics.values().removeIf(entityTraffic -> entityTraffic == traffic);
+    }
+
+    /**
+     * Returns the packet sizer used to measure the packets.
+     *
+     * @return The packet sizer.
+     */
+    public PacketSizer getPacketSizer() {
+        return packetSizer;
+    }
+
+    /**
+     * Returns an unmodifiable list of the traffic of every registered swing.
+     *
+     * @return An unmodifiable list of the traffic of every registered swing.
+     */
+    public List<SwingTraffic> getSwingTraffics() {
+        return Collections.unmodifiableList(swingTraffics);
+    }
+}
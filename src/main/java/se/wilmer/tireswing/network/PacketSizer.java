@@ -0,0 +1,142 @@
+package se.wilmer.tireswing.network;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundSetPassengersPacket;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.Entity;
+
+import java.util.List;
+
+public final class PacketSizer {
+    /**
+     * The size of a packet id, all packets sent by the swing have an id below 128.
+     */
+    private static final int PACKET_ID_SIZE = 1;
+
+    /**
+     * The size of the delimiter packets that are sent around a bundle.
+     */
+    private static final int BUNDLE_DELIMITERS_SIZE = 2 * frame(0);
+
+    /**
+     * The reused buffer that packets are encoded into.
+     */
+    private final RegistryFriendlyByteBuf buffer;
+
+    /**
+     * Creates a new PacketSizer instance.
+     */
+    public PacketSizer() {
+        buffer = new RegistryFriendlyByteBuf(Unpooled.buffer(), MinecraftServer.getServer().registryAccess());
+    }
+
+    /**
+     * Returns the size of an entity data packet.
+     *
+     * @param packet The entity data packet.
+     * @return The size of the packet in bytes.
+     */
+    public int entityData(ClientboundSetEntityDataPacket packet) {
+        return measure(ClientboundSetEntityDataPacket.STREAM_CODEC, packet);
+    }
+
+    /**
+     * Returns the size of the movement that the entity tracker sends for an entity.
+     * <p>
+     * This is an estimate, the packet the tracker sends is not seen here. A small movement is sent
+     * as a relative move, so that is what is measured, but the tracker sends a full teleport
+     * for large movements and every few seconds.
+     *
+     * @param entity The entity that moved.
+     * @return The size of the movement in bytes.
+     */
+    public int move(Entity entity) {
+        ClientboundMoveEntityPacket.Pos packet = new ClientboundMoveEntityPacket.Pos(entity.getId(), (short) 0, (short) 0, (short) 0, entity.onGround());
+        return measure(ClientboundMoveEntityPacket.Pos.STREAM_CODEC, packet);
+    }
+
+    /**
+     * Returns the number of packets sent when a player starts tracking the entity.
+     *
+     * @param entity The entity that is tracked.
+     * @return The number of packets.
+     */
+    public int spawnPackets(Entity entity) {
+        return 2 + (entity.getPassengers().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Returns the size of the packets sent when a player starts tracking the entity.
+     * <p>
+     * This is the spawn packet, the entity data that differs from the defaults,
+     * and the passengers if the entity has any.
+     *
+     * @param entity The entity that is tracked.
+     * @return The size of the packets in bytes.
+     */
+    public int spawn(Entity entity) {
+        ClientboundAddEntityPacket addEntityPacket = new ClientboundAddEntityPacket(
+                entity.getId(),
+                entity.getUUID(),
+                entity.getX(),
+                entity.getY(),
+                entity.getZ(),
+                entity.getXRot(),
+                entity.getYRot(),
+                entity.getType(),
+                0,
+                entity.getDeltaMovement(),
+                entity.getYHeadRot()
+        );
+        int size = measure(ClientboundAddEntityPacket.STREAM_CODEC, addEntityPacket);
+
+        List<SynchedEntityData.DataValue<?>> values = entity.getEntityData().getNonDefaultValues();
+        size += entityData(new ClientboundSetEntityDataPacket(entity.getId(), values != null ? values : List.of()));
+
+        if (!entity.getPassengers().isEmpty()) {
+            size += measure(ClientboundSetPassengersPacket.STREAM_CODEC, new ClientboundSetPassengersPacket(entity));
+        }
+        return size;
+    }
+
+    /**
+     * Returns the size of the delimiters sent around a bundle.
+     *
+     * @return The size of the delimiters in bytes.
+     */
+    public int bundleDelimiters() {
+        return BUNDLE_DELIMITERS_SIZE;
+    }
+
+    /**
+     * Encodes a packet into the buffer and returns the size it has on the connection.
+     *
+     * @param codec  The codec of the packet.
+     * @param packet The packet to measure.
+     * @param <T>    The type of the packet.
+     * @return The size of the packet in bytes.
+     */
+    private <T> int measure(StreamCodec<? super RegistryFriendlyByteBuf, T> codec, T packet) {
+        buffer.clear();
+        codec.encode(buffer, packet);
+        return frame(buffer.readableBytes());
+    }
+
+    /**
+     * Returns the size of a packet with its id and length prefix, without compression.
+     *
+     * @param payload The size of the encoded packet.
+     * @return The size of the framed packet in bytes.
+     */
+    private static int frame(int payload) {
+        int size = payload + PACKET_ID_SIZE;
+        return size + VarInt.getByteSize(size);
+    }
+}
@@ -0,0 +1,159 @@
+package se.wilmer.tireswing.network;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public final class SwingTraffic {
+    /**
+     * The name of the swing.
+     */
+    private final String name;
+
+    /**
+     * The number of packets sent for each traffic type.
+     */
+    private final long[] packets = new long[TrafficType.values().length];
+
+    /**
+     * The number of bytes sent for each traffic type.
+     */
+    private final long[] bytes = new long[TrafficType.values().length];
+
+    /**
+     * The number of bytes of each traffic type at the last sample.
+     */
+    private final long[] sampledBytes = new long[TrafficType.values().length];
+
+    /**
+     * The number of bytes per second of each traffic type between the last two samples.
+     */
+    private final double[] bytesPerSecond = new double[TrafficType.values().length];
+
+    /**
+     * The traffic of each viewer that is online.
+     */
+    private final Map<UUID, ViewerTraffic> viewers = new HashMap<>();
+
+    /**
+     * Creates a new SwingTraffic instance.
+     *
+     * @param name The name of the swing.
+     */
+    public SwingTraffic(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records packets that were sent to a viewer.
+     *
+     * @param viewer  The unique id of the viewer.
+     * @param type    The type of the traffic.
+     * @param packets The number of packets.
+     * @param bytes   The number of bytes.
+     */
+    void record(UUID viewer, TrafficType type, int packets, int bytes) {
+        this.packets[type.ordinal()] += packets;
+        this.bytes[type.ordinal()] += bytes;
+        viewers.computeIfAbsent(viewer, uuid -> new ViewerTraffic()).record(bytes);
+    }
+
+    /**
+     * Samples the rates of the traffic, of every traffic type and every viewer.
+     *
+     * @param seconds The number of seconds since the last sample.
+     */
+    void sample(double seconds) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytesPerSecond[i] = (bytes[i] - sampledBytes[i]) / seconds;
+            sampledBytes[i] = bytes[i];
+        }
+        viewers.values().forEach(viewer -> viewer.sample(seconds));
+    }
+
+    /**
+     * Forgets the traffic of a viewer that has left.
+     *
+     * @param viewer The unique id of the viewer.
+     */
+    void removeViewer(UUID viewer) {
+        viewers.remove(viewer);
+    }
+
+    /**
+     * Returns the name of the swing.
+     *
+     * @return The name of the swing.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of packets sent of a traffic type.
+     *
+     * @param type The type of the traffic.
+     * @return The number of packets.
+     */
+    public long getPackets(TrafficType type) {
+        return packets[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of bytes sent of a traffic type.
+     * <p>
+     * The bytes are estimated for the types where {@link TrafficType#isEstimated()} is true.
+     *
+     * @param type The type of the traffic.
+     * @return The number of bytes.
+     */
+    public long getBytes(TrafficType type) {
+        return bytes[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of bytes per second of a traffic type over the last sample period.
+     *
+     * @param type The type of the traffic.
+     * @return The number of bytes per second.
+     */
+    public double getBytesPerSecond(TrafficType type) {
+        return bytesPerSecond[type.ordinal()];
+    }
+
+    /**
+     * Returns the total number of bytes sent.
+     *
+     * @return The total number of bytes.
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long typeBytes : bytes) {
+            total += typeBytes;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of bytes per second over the last sample period.
+     *
+     * @return The number of bytes per second.
+     */
+    public double getBytesPerSecond() {
+        double total = 0;
+        for (double typeBytesPerSecond : bytesPerSecond) {
+            total += typeBytesPerSecond;
+        }
+        return total;
+    }
+
+    /**
+     * Returns an unmodifiable map of the traffic of each viewer that is online.
+     *
+     * @return An unmodifiable map of the traffic of each viewer that is online.
+     */
+    public Map<UUID, ViewerTraffic> getViewers() {
+        return Collections.unmodifiableMap(viewers);
+    }
+}
@@ -0,0 +1,39 @@
+package se.wilmer.tireswing.network;
+
+public enum TrafficType {
+    /**
+     * Entity data packets with the transformations of the displays.
+     */
+    METADATA(false),
+
+    /**
+     * Movement packets of the main item display.
+     * <p>
+     * These are sent by the entity tracker and not by the swing, so their size is estimated
+     * as a relative move. The tracker may send a larger full teleport instead.
+     */
+    TELEPORT(true),
+
+    /**
+     * Packets sent when a player starts tracking an entity of the swing.
+     */
+    SPAWN(false);
+
+    /**
+     * If the bytes of the traffic are estimated instead of measured.
+     */
+    private final boolean estimated;
+
+    TrafficType(boolean estimated) {
+        this.estimated = estimated;
+    }
+
+    /**
+     * Returns if the bytes of the traffic are estimated instead of measured from the sent packets.
+     *
+     * @return if the bytes of the traffic are estimated.
+     */
+    public boolean isEstimated() {
+        return estimated;
+    }
+}
@@ -0,0 +1,55 @@
+package se.wilmer.tireswing.network;
+
+public final class ViewerTraffic {
+    /**
+     * The number of bytes sent to the viewer.
+     */
+    private long bytes = 0;
+
+    /**
+     * The number of bytes at the last sample.
+     */
+    private long sampledBytes = 0;
+
+    /**
+     * The number of bytes per second between the last two samples.
+     */
+    private double bytesPerSecond = 0;
+
+    /**
+     * Records bytes that were sent to the viewer.
+     *
+     * @param bytes The number of bytes.
+     */
+    void record(int bytes) {
+        this.bytes += bytes;
+    }
+
+    /**
+     * Samples the rate of the traffic.
+     *
+     * @param seconds The number of seconds since the last sample.
+     */
+    void sample(double seconds) {
+        bytesPerSecond = (bytes - sampledBytes) / seconds;
+        sampledBytes = bytes;
+    }
+
+    /**
+     * Returns the number of bytes sent to the viewer.
+     *
+     * @return The number of bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes per second sent to the viewer over the last sample period.
+     *
+     * @return The number of bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+}
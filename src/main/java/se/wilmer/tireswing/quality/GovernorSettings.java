@@ -0,0 +1,11 @@
+package se.wilmer.tireswing.quality;
+
+/**
+ * The settings of the quality governor.
+ *
+ * @param stepDownMspt    The tick time above which the quality steps down (milliseconds).
+ * @param stepUpMspt      The tick time below which the quality steps up again (milliseconds).
+ * @param recoverySamples The number of samples in a row below {@code stepUpMspt} before the quality steps up.
+ */
+public record GovernorSettings(double stepDownMspt, double stepUpMspt, int recoverySamples) {
+}
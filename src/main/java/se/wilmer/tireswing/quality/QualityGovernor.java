@@ -0,0 +1,147 @@
+package se.wilmer.tireswing.quality;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import se.wilmer.tireswing.TireSwing;
+
+public final class QualityGovernor implements Listener {
+    /**
+     * The number of ticks between each sample of the tick time.
+     */
+    private static final long SAMPLE_PERIOD = 20L;
+
+    /**
+     * The number of the latest ticks that make up the recent tick time.
+     */
+    private static final int RECENT_TICKS = 20;
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The settings of the governor.
+     */
+    private final GovernorSettings settings;
+
+    /**
+     * The durations of the latest ticks, as a ring buffer (milliseconds).
+     */
+    private final double[] recentTickTimes = new double[RECENT_TICKS];
+
+    /**
+     * The number of ticks that have ended since the governor was registered.
+     */
+    private long endedTicks = 0;
+
+    /**
+     * The current quality level of the swings.
+     */
+    private QualityLevel level = QualityLevel.FULL;
+
+    /**
+     * The number of samples in a row below the step up tick time.
+     */
+    private int recoveredSamples = 0;
+
+    /**
+     * The last sampled tick time (milliseconds).
+     */
+    private double mspt = 0;
+
+    /**
+     * Creates a new QualityGovernor instance.
+     *
+     * @param plugin   The TireSwing plugin instance.
+     * @param settings The settings of the governor.
+     */
+    public QualityGovernor(TireSwing plugin, GovernorSettings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts sampling the tick time of the server.
+     */
+    public void start() {
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::sample, SAMPLE_PERIOD, SAMPLE_PERIOD);
+    }
+
+    /**
+     * Samples the tick time, and steps the quality level.
+     * <p>
+     * The tick time is the larger of the average of the server and the average of the latest ticks,
+     * so the quality steps down as soon as the server starts lagging. It steps down one level per sample
+     * while the tick time is above the step down tick time, and only steps up one level after
+     * the tick time has stayed below the lower step up tick time for a number of samples.
+     */
+    private void sample() {
+        mspt = Math.max(plugin.getServer().getAverageTickTime(), getRecentTickTime());
+
+        QualityLevel next = level;
+        if (mspt > settings.stepDownMspt()) {
+            recoveredSamples = 0;
+            next = level.lower();
+        } else if (mspt < settings.stepUpMspt()) {
+            if (++recoveredSamples >= settings.recoverySamples()) {
+                recoveredSamples = 0;
+                next = level.higher();
+            }
+        } else {
+            recoveredSamples = 0;
+        }
+
+        if (next != level) {
+            level = next;
+            plugin.getSwingManager().getControllers().forEach(controller -> controller.applyQuality(next));
+        }
+    }
+
+    /**
+     * Keeps the duration of the tick that just ended.
+     *
+     * @param event The event called when a tick ends.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerTickEnd(ServerTickEndEvent event) {
+        recentTickTimes[(int) (endedTicks++ % RECENT_TICKS)] = event.getTickDuration();
+    }
+
+    /**
+     * Returns the average time of the latest ticks.
+     *
+     * @return The average time of the latest ticks (milliseconds).
+     */
+    private double getRecentTickTime() {
+        int count = (int) Math.min(RECENT_TICKS, endedTicks);
+        if (count == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += recentTickTimes[i];
+        }
+        return total / count;
+    }
+
+    /**
+     * Returns the current quality level of the swings.
+     *
+     * @return The current quality level of the swings.
+     */
+    public QualityLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the last sampled tick time.
+     *
+     * @return The last sampled tick time (milliseconds).
+     */
+    public double getMspt() {
+        return mspt;
+    }
+}
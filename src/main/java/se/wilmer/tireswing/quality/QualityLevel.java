@@ -0,0 +1,100 @@
+package se.wilmer.tireswing.quality;
+
+/**
+ * A quality level of the swings, from the full quality down to the cheapest.
+ *
+ * @see QualityGovernor
+ */
+public enum QualityLevel {
+    /**
+     * A frame every tick.
+     */
+    FULL(1, false, false),
+
+    /**
+     * A frame every other tick, that the client interpolates over both ticks.
+     */
+    REDUCED_RATE(2, false, false),
+
+    /**
+     * A frame every fourth tick, that the client interpolates over all four ticks.
+     */
+    LONG_INTERPOLATION(4, false, false),
+
+    /**
+     * Like {@link #LONG_INTERPOLATION}, but every other part is hidden and no longer updated.
+     */
+    REDUCED_PARTS(4, true, false),
+
+    /**
+     * Like {@link #REDUCED_PARTS}, and the swings without a rider stop their idle sway.
+     */
+    FROZEN_IDLE(4, true, true);
+
+    /**
+     * The number of ticks between two frames, which is also the interpolation duration of a frame.
+     */
+    private final int frameInterval;
+
+    /**
+     * If every other part is hidden.
+     */
+    private final boolean reducedParts;
+
+    /**
+     * If the idle sway is stopped.
+     */
+    private final boolean frozenIdle;
+
+    QualityLevel(int frameInterval, boolean reducedParts, boolean frozenIdle) {
+        this.frameInterval = frameInterval;
+        this.reducedParts = reducedParts;
+        this.frozenIdle = frozenIdle;
+    }
+
+    /**
+     * Returns the number of ticks between two frames, which is also the interpolation duration of a frame.
+     *
+     * @return The number of ticks between two frames.
+     */
+    public int getFrameInterval() {
+        return frameInterval;
+    }
+
+    /**
+     * Returns if every other part is hidden.
+     *
+     * @return if every other part is hidden.
+     */
+    public boolean isReducedParts() {
+        return reducedParts;
+    }
+
+    /**
+     * Returns if the idle sway is stopped.
+     *
+     * @return if the idle sway is stopped.
+     */
+    public boolean isFrozenIdle() {
+        return frozenIdle;
+    }
+
+    /**
+     * Returns the next cheaper level.
+     *
+     * @return The next cheaper level, or this level if it is the cheapest.
+     */
+    public QualityLevel lower() {
+        QualityLevel[] levels = values();
+        return levels[Math.min(ordinal() + 1, levels.length - 1)];
+    }
+
+    /**
+     * Returns the next better level.
+     *
+     * @return The next better level, or this level if it is the full quality.
+     */
+    public QualityLevel higher() {
+        return values()[Math.max(ordinal() - 1, 0)];
+    }
+}
@@ -0,0 +1,13 @@
+package se.wilmer.tireswing.quality;
+
+/**
+ * The settings of the staggered frames of the low priority swings.
+ * <p>
+ * A swing is low priority while it has no rider, or while every player is farther away than the distant distance.
+ * Low priority swings only send a frame every interval, on the ticks of their own slot.
+ *
+ * @param interval        The number of ticks between two frames of a low priority swing.
+ * @param distantDistance The distance beyond which a swing is low priority (blocks).
+ */
+public record Staggering(int interval, double distantDistance) {
+}
@@ -0,0 +1,122 @@
+package se.wilmer.tireswing.recording;
+
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class RecordingWriter {
+    /**
+     * The longest time to wait for the pending writes when closing (seconds).
+     */
+    private static final long CLOSE_TIMEOUT = 5;
+
+    /**
+     * The logger used to report write errors.
+     */
+    private final ComponentLogger logger;
+
+    /**
+     * The thread that writes the ride logs.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TireSwing Recording Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The open channel of each ride log, only used by the writer thread.
+     */
+    private final Map<Path, FileChannel> channels = new HashMap<>();
+
+    /**
+     * Creates a new RecordingWriter instance.
+     *
+     * @param logger The logger used to report write errors.
+     */
+    public RecordingWriter(ComponentLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Appends the buffer to a ride log on the writer thread.
+     * <p>
+     * The buffer must not be used by the caller after this method is called.
+     *
+     * @param path   The path of the ride log.
+     * @param buffer The buffer to append, ready to be written.
+     */
+    public void append(Path path, ByteBuffer buffer) {
+        executor.execute(() -> {
+            try {
+                FileChannel channel = getChannel(path);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                logger.error("Could not write ride log {}", path, e);
+            }
+        });
+    }
+
+    /**
+     * Closes the ride logs after all the pending writes are done.
+     */
+    public void close() {
+        executor.execute(() -> {
+            for (Map.Entry<Path, FileChannel> entry : channels.entrySet()) {
+                try {
+                    entry.getValue().close();
+                } catch (IOException e) {
+                    logger.error("Could not close ride log {}", entry.getKey(), e);
+                }
+            }
+            channels.clear();
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                logger.warn("Timed out while writing the ride logs");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the channel of a ride log, and opens it if it is not open.
+     * <p>
+     * The header is written if the ride log is new.
+     *
+     * @param path The path of the ride log.
+     * @return The channel of the ride log.
+     * @throws IOException If the ride log could not be opened.
+     */
+    private FileChannel getChannel(Path path) throws IOException {
+        FileChannel channel = channels.get(path);
+        if (channel != null) {
+            return channel;
+        }
+
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            ByteBuffer header = RideLog.createHeader();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+        channels.put(path, channel);
+        return channel;
+    }
+}
@@ -0,0 +1,107 @@
+package se.wilmer.tireswing.recording;
+
+import se.wilmer.tireswing.animation.Rotation;
+import se.wilmer.tireswing.animation.Swing;
+import se.wilmer.tireswing.model.ModelTemplate;
+
+import java.util.List;
+
+public final class ReplayHarness {
+    /**
+     * The template of the tire model.
+     */
+    private final ModelTemplate tireTemplate;
+
+    /**
+     * The template of the rope model.
+     */
+    private final ModelTemplate ropeTemplate;
+
+    /**
+     * The radius of the swing.
+     */
+    private final double radius;
+
+    /**
+     * If the main item display stays at the center while it has no rider.
+     */
+    private final boolean staticRoot;
+
+    /**
+     * Creates a new ReplayHarness instance.
+     *
+     * @param tireTemplate The template of the tire model.
+     * @param ropeTemplate The template of the rope model.
+     * @param radius       The radius of the swing.
+     * @param staticRoot   If the main item display stays at the center while it has no rider.
+     */
+    public ReplayHarness(ModelTemplate tireTemplate, ModelTemplate ropeTemplate, double radius, boolean staticRoot) {
+        this.tireTemplate = tireTemplate;
+        this.ropeTemplate = ropeTemplate;
+        this.radius = radius;
+        this.staticRoot = staticRoot;
+    }
+
+    /**
+     * Replays the rides through {@link Swing} and a headless {@link Rotation}.
+     * <p>
+     * Every ride runs the same pendulum steps with the same integrator as it did when it was recorded, and the rider
+     * dismounts at the same step, so the replayed frames can be compared with the recorded ones.
+     *
+     * @param rides The rides to replay.
+     * @return The report of the replay.
+     */
+    public ReplayReport replay(List<RideLog.Ride> rides) {
+        long frames = 0;
+        long recordedUpdates = 0;
+        long replayedUpdates = 0;
+        long recordedMoves = 0;
+        long replayedMoves = 0;
+        double maxAngleError = 0;
+
+        long start = System.nanoTime();
+        for (RideLog.Ride ride : rides) {
+            Swing swing = new Swing(ride.getIntegrator());
+            Rotation rotation = Rotation.headless(tireTemplate, ropeTemplate, radius, staticRoot);
+            rotation.setSeated(true);
+            rotation.resetRotation();
+
+            List<RideLog.Frame> rideFrames = ride.getFrames();
+            for (int index = 0; index < rideFrames.size(); index++) {
+                RideLog.Frame frame = rideFrames.get(index);
+                int dismountStep = index == ride.getDismountFrame() ? ride.getDismountSteps() : -1;
+                for (int i = 0; i < frame.steps(); i++) {
+                    if (i == dismountStep) {
+                        dismount(swing, rotation);
+                    }
+                    swing.update();
+                }
+                if (dismountStep >= frame.steps()) {
+                    dismount(swing, rotation);
+                }
+                rotation.rotate(swing.getAngle());
+
+                frames++;
+                recordedUpdates += frame.updates();
+                replayedUpdates += rotation.getFrameUpdates();
+                recordedMoves += frame.moved() ? 1 : 0;
+                replayedMoves += rotation.isFrameMoved() ? 1 : 0;
+                maxAngleError = Math.max(maxAngleError, Math.abs(swing.getAngle() - frame.angle()));
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        return new ReplayReport(rides.size(), frames, recordedUpdates, replayedUpdates, recordedMoves, replayedMoves, maxAngleError, nanos);
+    }
+
+    /**
+     * Slows the swing down, like when the rider dismounts.
+     *
+     * @param swing    The swing of the ride.
+     * @param rotation The rotation of the ride.
+     */
+    private static void dismount(Swing swing, Rotation rotation) {
+        swing.slowdown();
+        rotation.setSeated(false);
+    }
+}
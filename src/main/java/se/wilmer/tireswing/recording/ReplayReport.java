@@ -0,0 +1,25 @@
+package se.wilmer.tireswing.recording;
+
+/**
+ * The report of a replay.
+ *
+ * @param rides           The number of replayed rides.
+ * @param frames          The number of replayed frames.
+ * @param recordedUpdates The number of display updates that were recorded.
+ * @param replayedUpdates The number of display updates in the replay.
+ * @param recordedMoves   The number of main item display moves that were recorded.
+ * @param replayedMoves   The number of main item display moves in the replay.
+ * @param maxAngleError   The largest difference between a recorded and a replayed angle (radians).
+ * @param nanos           The time the replay took (nanoseconds).
+ */
+public record ReplayReport(
+        int rides,
+        long frames,
+        long recordedUpdates,
+        long replayedUpdates,
+        long recordedMoves,
+        long replayedMoves,
+        double maxAngleError,
+        long nanos
+) {
+}
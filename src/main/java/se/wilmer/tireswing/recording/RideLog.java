@@ -0,0 +1,259 @@
+package se.wilmer.tireswing.recording;
+
+import se.wilmer.tireswing.animation.Integrators;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary format of a ride log.
+ * <p>
+ * A ride log starts with a header of {@link #MAGIC} and {@link #VERSION}, followed by records.
+ * Every record starts with its type, and all values are big-endian.
+ * <ul>
+ *     <li>{@link #MOUNT}: the wall-clock time (long), the server tick (int) and the ordinal of the
+ *     {@link Integrators} the ride is stepped with (byte). It starts every ride, so it is the header of the ride.</li>
+ *     <li>{@link #DISMOUNT}: the wall-clock time (long), the server tick (int) and the pendulum steps since
+ *     the last frame that were run before the rider dismounted (byte).</li>
+ *     <li>{@link #END}: the wall-clock time (long) and the server tick (int).</li>
+ *     <li>{@link #FRAME}: the server tick (int), the pendulum steps (byte), the angle (float),
+ *     the display updates (short) and the flags (byte).</li>
+ * </ul>
+ */
+public final class RideLog {
+    /**
+     * The magic number at the start of a ride log.
+     */
+    public static final int MAGIC = 0x54535752;
+
+    /**
+     * The version of the ride log format.
+     */
+    public static final short VERSION = 3;
+
+    /**
+     * The size of the header.
+     */
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    /**
+     * The record type of a mount.
+     */
+    static final byte MOUNT = 1;
+
+    /**
+     * The record type of a dismount.
+     */
+    static final byte DISMOUNT = 2;
+
+    /**
+     * The record type of a frame.
+     */
+    static final byte FRAME = 3;
+
+    /**
+     * The record type of the end of a ride, when the swing has become still.
+     */
+    static final byte END = 4;
+
+    /**
+     * The size of an end record.
+     */
+    static final int EVENT_SIZE = Byte.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The size of a mount record.
+     */
+    static final int MOUNT_SIZE = EVENT_SIZE + Byte.BYTES;
+
+    /**
+     * The size of a dismount record.
+     */
+    static final int DISMOUNT_SIZE = EVENT_SIZE + Byte.BYTES;
+
+    /**
+     * The size of a frame record.
+     */
+    static final int FRAME_SIZE = Byte.BYTES + Integer.BYTES + Byte.BYTES + Float.BYTES + Short.BYTES + Byte.BYTES;
+
+    /**
+     * The frame flag for when the main item display was moved.
+     */
+    static final byte FLAG_MOVED = 1;
+
+    private RideLog() {
+    }
+
+    /**
+     * Creates the header of a ride log.
+     *
+     * @return The header, ready to be written.
+     */
+    static ByteBuffer createHeader() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+    }
+
+    /**
+     * Reads all the rides of a ride log.
+     * <p>
+     * A record that was cut off at the end of the log is ignored.
+     *
+     * @param path The path of the ride log.
+     * @return The rides of the ride log.
+     * @throws IOException If the ride log could not be read, or if it is not a ride log.
+     */
+    public static List<Ride> read(Path path) throws IOException {
+        List<Ride> rides = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("Not a ride log of version " + VERSION + ": " + path);
+            }
+
+            Ride ride = null;
+            while (true) {
+                int type = input.read();
+                if (type == -1) {
+                    break;
+                }
+
+                try {
+                    switch (type) {
+                        case MOUNT -> {
+                            input.readLong();
+                            int tick = input.readInt();
+                            int integrator = input.readUnsignedByte();
+                            if (integrator >= Integrators.values().length) {
+                                throw new IOException("Unknown integrator " + integrator + " in " + path);
+                            }
+                            ride = new Ride(tick, Integrators.values()[integrator]);
+                            rides.add(ride);
+                        }
+                        case DISMOUNT -> {
+                            input.readLong();
+                            int tick = input.readInt();
+                            int steps = input.readUnsignedByte();
+                            if (ride != null) {
+                                ride.dismountTick = tick;
+                                ride.dismountFrame = ride.frames.size();
+                                ride.dismountSteps = steps;
+                            }
+                        }
+                        case END -> {
+                            input.readLong();
+                            input.readInt();
+                        }
+                        case FRAME -> {
+                            Frame frame = new Frame(
+                                    input.readInt(),
+                                    input.readUnsignedByte(),
+                                    input.readFloat(),
+                                    input.readUnsignedShort(),
+                                    (input.readByte() & FLAG_MOVED) != 0
+                            );
+                            if (ride != null) {
+                                ride.frames.add(frame);
+                            }
+                        }
+                        default -> throw new IOException("Unknown record type " + type + " in " + path);
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+        return rides;
+    }
+
+    /**
+     * A frame of a ride.
+     *
+     * @param tick    The server tick of the frame.
+     * @param steps   The number of pendulum steps before the frame.
+     * @param angle   The angle of the swing (radians).
+     * @param updates The number of display updates of the frame.
+     * @param moved   If the main item display was moved.
+     */
+    public record Frame(int tick, int steps, float angle, int updates, boolean moved) {
+    }
+
+    /**
+     * A ride, from the mount until the swing has become still.
+     */
+    public static final class Ride {
+        private final int mountTick;
+        private final Integrators integrator;
+        private final List<Frame> frames = new ArrayList<>();
+        private int dismountTick = -1;
+        private int dismountFrame = -1;
+        private int dismountSteps;
+
+        private Ride(int mountTick, Integrators integrator) {
+            this.mountTick = mountTick;
+            this.integrator = integrator;
+        }
+
+        /**
+         * Returns the server tick of the mount.
+         *
+         * @return The server tick of the mount.
+         */
+        public int getMountTick() {
+            return mountTick;
+        }
+
+        /**
+         * Returns the integrator the pendulum of the ride was stepped with.
+         *
+         * @return The integrator of the ride.
+         */
+        public Integrators getIntegrator() {
+            return integrator;
+        }
+
+        /**
+         * Returns the server tick of the dismount.
+         *
+         * @return The server tick of the dismount, or -1 if the rider stayed until the swing was still.
+         */
+        public int getDismountTick() {
+            return dismountTick;
+        }
+
+        /**
+         * Returns the index of the first frame after the dismount.
+         * <p>
+         * With staggering, the dismount tick does not have to be a frame tick, so the dismount
+         * happens within the steps of this frame.
+         *
+         * @return The index of the first frame after the dismount, or -1 if the rider stayed until the swing was still.
+         */
+        public int getDismountFrame() {
+            return dismountFrame;
+        }
+
+        /**
+         * Returns the number of pendulum steps of the first frame after the dismount that were run before the dismount.
+         *
+         * @return The number of pendulum steps before the dismount.
+         */
+        public int getDismountSteps() {
+            return dismountSteps;
+        }
+
+        /**
+         * Returns the frames of the ride.
+         *
+         * @return The frames of the ride.
+         */
+        public List<Frame> getFrames() {
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package se.wilmer.tireswing.recording;
+
+import se.wilmer.tireswing.animation.Integrators;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+public final class RideRecorder {
+    /**
+     * The size of the buffer that the records are collected in, before they are written.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * The writer that writes the ride log.
+     */
+    private final RecordingWriter writer;
+
+    /**
+     * The path of the ride log.
+     */
+    private final Path path;
+
+    /**
+     * The buffer that the records are collected in.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Creates a new RideRecorder instance.
+     *
+     * @param writer The writer that writes the ride log.
+     * @param path   The path of the ride log.
+     */
+    public RideRecorder(RecordingWriter writer, Path path) {
+        this.writer = writer;
+        this.path = path;
+    }
+
+    /**
+     * Records that a rider has mounted the swing.
+     *
+     * @param tick       The current server tick.
+     * @param integrator The integrator the pendulum of the ride is stepped with.
+     */
+    public void mount(int tick, Integrators integrator) {
+        ensureRemaining(RideLog.MOUNT_SIZE);
+        putEvent(RideLog.MOUNT, tick);
+        buffer.put((byte) integrator.ordinal());
+    }
+
+    /**
+     * Records that the rider has dismounted the swing.
+     *
+     * @param tick  The current server tick.
+     * @param steps The number of pendulum steps since the last frame that were run before the dismount.
+     */
+    public void dismount(int tick, int steps) {
+        ensureRemaining(RideLog.DISMOUNT_SIZE);
+        putEvent(RideLog.DISMOUNT, tick);
+        buffer.put((byte) steps);
+    }
+
+    /**
+     * Records that the swing has become still, and writes the ride.
+     *
+     * @param tick The current server tick.
+     */
+    public void end(int tick) {
+        putEvent(RideLog.END, tick);
+        flush();
+    }
+
+    /**
+     * Records a frame of the swing.
+     *
+     * @param tick    The current server tick.
+     * @param steps   The number of pendulum steps before the frame.
+     * @param angle   The angle of the swing (radians).
+     * @param updates The number of display updates of the frame.
+     * @param moved   If the main item display was moved.
+     */
+    public void frame(int tick, int steps, double angle, int updates, boolean moved) {
+        ensureRemaining(RideLog.FRAME_SIZE);
+        buffer.put(RideLog.FRAME)
+                .putInt(tick)
+                .put((byte) steps)
+                .putFloat((float) angle)
+                .putShort((short) updates)
+                .put(moved ? RideLog.FLAG_MOVED : 0);
+    }
+
+    /**
+     * Hands the collected records to the writer.
+     */
+    public void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        writer.append(path, buffer.flip());
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Puts the time and tick of a mount, dismount or end record in the buffer.
+     *
+     * @param type The type of the record.
+     * @param tick The current server tick.
+     */
+    private void putEvent(byte type, int tick) {
+        ensureRemaining(RideLog.EVENT_SIZE);
+        buffer.put(type)
+                .putLong(System.currentTimeMillis())
+                .putInt(tick);
+    }
+
+    /**
+     * Flushes the buffer if it has less space left than the given size.
+     *
+     * @param size The size of the next record.
+     */
+    private void ensureRemaining(int size) {
+        if (buffer.remaining() < size) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package se.wilmer.tireswing.resourcepack;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.Material;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import se.wilmer.tireswing.configuration.ModelWriter;
+import se.wilmer.tireswing.model.ModelData;
+import se.wilmer.tireswing.model.ModelTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public final class ModelBaker {
+    /**
+     * The pack format of the generated resource pack.
+     */
+    private static final int PACK_FORMAT = 34;
+
+    /**
+     * The namespace of the generated models and textures.
+     */
+    private static final String NAMESPACE = "tireswing";
+
+    /**
+     * The item that shows the baked models.
+     */
+    private static final Material ITEM = Material.PAPER;
+
+    /**
+     * The custom model data of the first baked model.
+     */
+    private static final int CUSTOM_MODEL_DATA = 7310;
+
+    /**
+     * The largest distance of an element coordinate from the center of an item model (pixels).
+     */
+    private static final float MODEL_EXTENT = 24;
+
+    /**
+     * The rotation angles that an element of an item model can have (degrees).
+     */
+    private static final float ANGLE_STEP = 22.5f;
+
+    /**
+     * The UV of each face of a head, in the head texture that is cut out of the skin.
+     */
+    private static final Map<String, float[]> FACE_UVS = Map.of(
+            "up", new float[]{4, 0, 8, 4},
+            "down", new float[]{8, 0, 12, 4},
+            "west", new float[]{0, 4, 4, 8},
+            "south", new float[]{4, 4, 8, 8},
+            "east", new float[]{8, 4, 12, 8},
+            "north", new float[]{12, 4, 16, 8}
+    );
+
+    /**
+     * The normal of each face direction of an element.
+     */
+    private static final Map<String, Vector3fc> DIRECTIONS = Map.of(
+            "up", new Vector3f(0, 1, 0),
+            "down", new Vector3f(0, -1, 0),
+            "west", new Vector3f(-1, 0, 0),
+            "east", new Vector3f(1, 0, 0),
+            "north", new Vector3f(0, 0, -1),
+            "south", new Vector3f(0, 0, 1)
+    );
+
+    /**
+     * The Gson instance used to write the JSON files.
+     */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The logger used to report bake errors.
+     */
+    private final ComponentLogger logger;
+
+    /**
+     * The client used to download the skins.
+     */
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * The name of the texture of each head texture value.
+     */
+    private final Map<String, String> textureNames = new LinkedHashMap<>();
+
+    /**
+     * Creates a new ModelBaker instance.
+     *
+     * @param logger The logger used to report bake errors.
+     */
+    public ModelBaker(ComponentLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Bakes the rotational, rope and still models into one item model each.
+     * <p>
+     * The heads of each model become the elements of one item model in a generated resource pack,
+     * which is shown through custom model data on one item display. The root of the rotational model
+     * is kept as it is, since the other rotational displays ride it.
+     * <p>
+     * Both the resource pack and a model.json that uses the baked models are written to the folder.
+     * This method downloads the skins, so it should not run on the main thread.
+     *
+     * @param rotational The template of the rotational model.
+     * @param rope       The template of the rope model.
+     * @param still      The template of the still model.
+     * @param folder     The folder to write the resource pack and model.json to.
+     * @return if the models were baked successfully.
+     */
+    public boolean bake(ModelTemplate rotational, ModelTemplate rope, ModelTemplate still, Path folder) {
+        textureNames.clear();
+        Map<String, JsonObject> models = new LinkedHashMap<>();
+        JsonObject modelConfiguration = new JsonObject();
+        int customModelData = CUSTOM_MODEL_DATA;
+        try {
+            Map<String, ModelTemplate> sections = new LinkedHashMap<>();
+            sections.put("rotational", rotational);
+            sections.put("rope", rope);
+            sections.put("still", still);
+            for (Map.Entry<String, ModelTemplate> section : sections.entrySet()) {
+                String name = section.getKey();
+                ModelTemplate template = section.getValue();
+                int skip = name.equals("rotational") ? 1 : 0;
+
+                JsonArray parts = new JsonArray();
+                for (int i = 0; i < skip; i++) {
+                    parts.add(ModelWriter.toJson(template.getParts().get(i)));
+                }
+                float scale = bakeModel(name, template.getParts().subList(skip, template.size()), models);
+                parts.add(ModelWriter.toJson(ITEM, customModelData++, new Transformation(
+                        new Vector3f(), new Quaternionf(), new Vector3f(1 / scale), new Quaternionf()
+                )));
+                modelConfiguration.add(name, parts);
+            }
+
+            Files.createDirectories(folder);
+            writePack(folder.resolve("TireSwing.zip"), models);
+            ModelWriter.write(folder.resolve("model.json"), modelConfiguration);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            logger.error("Could not bake the models", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bakes the parts of a model into an item model.
+     * <p>
+     * An item model can't be larger than three blocks, so the elements are shrunk around the center
+     * when they don't fit, and the item display scales the model back up.
+     *
+     * @param name   The name of the model.
+     * @param parts  The parts to bake.
+     * @param models The baked item models by name, that the new model is added to.
+     * @return The scale the elements were shrunk with.
+     * @throws IOException If a part can't be baked.
+     */
+    private float bakeModel(String name, List<ModelData> parts, Map<String, JsonObject> models) throws IOException {
+        List<Element> elements = new ArrayList<>();
+        for (ModelData part : parts) {
+            Element element = bakePart(name, part);
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        if (elements.isEmpty()) {
+            throw new IOException("The " + name + " model has no visible parts to bake");
+        }
+
+        float extent = 0;
+        for (Element element : elements) {
+            extent = Math.max(extent, distanceFromCenter(element.from()));
+            extent = Math.max(extent, distanceFromCenter(element.to()));
+        }
+        float scale = Math.min(1, MODEL_EXTENT / extent);
+
+        JsonObject textures = new JsonObject();
+        JsonArray elementArray = new JsonArray();
+        for (Element element : elements) {
+            String textureName = textureNames.get(element.texture());
+            textures.addProperty(textureName, NAMESPACE + ":item/" + textureName);
+            if (!textures.has("particle")) {
+                textures.addProperty("particle", NAMESPACE + ":item/" + textureName);
+            }
+            elementArray.add(element.toJson(scale, textureName));
+        }
+
+        JsonObject model = new JsonObject();
+        model.add("textures", textures);
+        model.add("elements", elementArray);
+        models.put(name, model);
+        return scale;
+    }
+
+    /**
+     * Bakes a head part into an element of an item model.
+     * <p>
+     * An element is a box that can be rotated around one axis by up to 45 degrees in steps of 22.5,
+     * so the left rotation of the part has to be around one axis by a multiple of 22.5 degrees.
+     * Whole quarter turns are applied to the box itself, and only the rest is left to the element,
+     * which needs the scale of the part to be the same across the rotation.
+     * The right rotation is not used, like in the rotation of the swing.
+     *
+     * @param name The name of the model.
+     * @param part The part to bake.
+     * @return The element, or null if the part is invisible.
+     * @throws IOException If the part can't be baked.
+     */
+    private Element bakePart(String name, ModelData part) throws IOException {
+        Transformation transformation = part.transformation();
+        Vector3fc scale = transformation.getScale();
+        if (scale.x() == 0 && scale.y() == 0 && scale.z() == 0) {
+            return null;
+        }
+        if (part.texture() == null) {
+            throw new IOException("Only head parts can be baked, found another item in the " + name + " model");
+        }
+        textureNames.computeIfAbsent(part.texture(), texture -> "head_" + textureNames.size());
+
+        AxisAngle4f axisAngle = new AxisAngle4f(transformation.getLeftRotation());
+        float angle = (float) Math.toDegrees(axisAngle.angle);
+        if (angle > 180) {
+            angle -= 360;
+        }
+        Vector3f axis = new Vector3f(axisAngle.x, axisAngle.y, axisAngle.z);
+        int axisIndex = axis.absolute(new Vector3f()).maxComponent();
+        if (Math.abs(angle) < 1.0E-3f) {
+            angle = 0;
+        } else if (Math.abs(axis.get(axisIndex)) < 0.999f) {
+            throw new IOException("A part of the " + name + " model is rotated around more than one axis");
+        }
+        angle *= Math.signum(axis.get(axisIndex));
+        float step = angle / ANGLE_STEP;
+        if (Math.abs(step - Math.round(step)) > 1.0E-3f) {
+            throw new IOException("A part of the " + name + " model is rotated by " + angle + " degrees, which is not a multiple of 22.5");
+        }
+        int quarterTurns = Math.round(angle / 90);
+        float elementAngle = Math.round(step) * ANGLE_STEP - quarterTurns * 90;
+        if (elementAngle != 0 && scale.get((axisIndex + 1) % 3) != scale.get((axisIndex + 2) % 3)) {
+            throw new IOException("A rotated part of the " + name + " model is not scaled evenly across its rotation");
+        }
+
+        Vector3f rotationAxis = new Vector3f();
+        rotationAxis.setComponent(axisIndex, 1);
+        Quaternionf quarterTurn = new Quaternionf().rotateAxis((float) Math.toRadians(quarterTurns * 90), rotationAxis);
+        Vector3f translation = new Vector3f(transformation.getTranslation());
+        Vector3f corner = quarterTurn.transform(new Vector3f(ModelTemplate.HEAD_MIN)).mul(scale).add(translation);
+        Vector3f otherCorner = quarterTurn.transform(new Vector3f(ModelTemplate.HEAD_MAX)).mul(scale).add(translation);
+        Vector3f from = corner.min(otherCorner, new Vector3f()).mul(16).add(8, 8, 8);
+        Vector3f to = corner.max(otherCorner, new Vector3f()).mul(16).add(8, 8, 8);
+        Vector3f origin = elementAngle == 0 ? null : translation.mul(16).add(8, 8, 8);
+        return new Element(from, to, quarterTurn, origin, axisIndex, elementAngle, part.texture());
+    }
+
+    /**
+     * Writes the resource pack with the baked item models and the head textures.
+     *
+     * @param path   The path of the resource pack.
+     * @param models The baked item models by name.
+     * @throws IOException          If the pack can't be written, or a skin can't be downloaded.
+     * @throws InterruptedException If the download of a skin is interrupted.
+     */
+    private void writePack(Path path, Map<String, JsonObject> models) throws IOException, InterruptedException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path))) {
+            JsonObject pack = new JsonObject();
+            pack.addProperty("pack_format", PACK_FORMAT);
+            pack.addProperty("description", "TireSwing baked models");
+            JsonObject mcmeta = new JsonObject();
+            mcmeta.add("pack", pack);
+            writeEntry(zip, "pack.mcmeta", GSON.toJson(mcmeta).getBytes(StandardCharsets.UTF_8));
+
+            String itemName = ITEM.getKey().getKey();
+            JsonObject textures = new JsonObject();
+            textures.addProperty("layer0", "minecraft:item/" + itemName);
+            JsonArray overrides = new JsonArray();
+            int customModelData = CUSTOM_MODEL_DATA;
+            for (Map.Entry<String, JsonObject> model : models.entrySet()) {
+                JsonObject predicate = new JsonObject();
+                predicate.addProperty("custom_model_data", customModelData++);
+                JsonObject override = new JsonObject();
+                override.add("predicate", predicate);
+                override.addProperty("model", NAMESPACE + ":item/" + model.getKey());
+                overrides.add(override);
+
+                writeEntry(zip, "assets/" + NAMESPACE + "/models/item/" + model.getKey() + ".json", GSON.toJson(model.getValue()).getBytes(StandardCharsets.UTF_8));
+            }
+            JsonObject item = new JsonObject();
+            item.addProperty("parent", "minecraft:item/generated");
+            item.add("textures", textures);
+            item.add("overrides", overrides);
+            writeEntry(zip, "assets/minecraft/models/item/" + itemName + ".json", GSON.toJson(item).getBytes(StandardCharsets.UTF_8));
+
+            for (Map.Entry<String, String> texture : textureNames.entrySet()) {
+                writeEntry(zip, "assets/" + NAMESPACE + "/textures/item/" + texture.getValue() + ".png", downloadHead(texture.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Downloads the skin of a head texture value, and cuts out the head.
+     * <p>
+     * The head is placed in the top half of a square texture, since the client reads
+     * a texture that is not square as an animation. The hat layer is not used.
+     *
+     * @param texture The base64 encoded texture data.
+     * @return The PNG image of the head.
+     * @throws IOException          If the skin can't be downloaded or read.
+     * @throws InterruptedException If the download is interrupted.
+     */
+    private byte[] downloadHead(String texture) throws IOException, InterruptedException {
+        String json = new String(Base64.getDecoder().decode(texture), StandardCharsets.UTF_8);
+        String url = JsonParser.parseString(json).getAsJsonObject()
+                .getAsJsonObject("textures")
+                .getAsJsonObject("SKIN")
+                .get("url").getAsString();
+
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+        );
+        if (response.statusCode() != 200) {
+            throw new IOException("Could not download skin " + url + ": " + response.statusCode());
+        }
+        BufferedImage skin = ImageIO.read(new ByteArrayInputStream(response.body()));
+        if (skin == null || skin.getWidth() < 32 || skin.getHeight() < 16) {
+            throw new IOException("Could not read skin " + url);
+        }
+
+        BufferedImage head = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = head.createGraphics();
+        graphics.drawImage(skin.getSubimage(0, 0, 32, 16), 0, 0, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(head, "png", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes an entry to the resource pack.
+     *
+     * @param zip  The resource pack.
+     * @param name The name of the entry.
+     * @param data The data of the entry.
+     * @throws IOException If the entry can't be written.
+     */
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    /**
+     * Returns the largest distance of a point from the center of an item model along an axis.
+     *
+     * @param point The point, in the pixels of the item model.
+     * @return The distance (pixels).
+     */
+    private static float distanceFromCenter(Vector3f point) {
+        return Math.max(Math.abs(point.x - 8), Math.max(Math.abs(point.y - 8), Math.abs(point.z - 8)));
+    }
+
+    /**
+     * An element of a baked item model, in the pixels of the item model.
+     *
+     * @param from        The corner of the element with the lowest coordinates.
+     * @param to          The corner of the element with the highest coordinates.
+     * @param quarterTurn The quarter turns that are applied to the box.
+     * @param origin      The origin of the rotation, or null if the element is not rotated.
+     * @param axis        The index of the axis of the rotation.
+     * @param angle       The angle of the rotation (degrees).
+     * @param texture     The base64 encoded texture data of the head.
+     */
+    private record Element(Vector3f from, Vector3f to, Quaternionfc quarterTurn, Vector3f origin, int axis, float angle, String texture) {
+        /**
+         * Returns the JSON of the element.
+         *
+         * @param scale       The scale to shrink the element with around the center.
+         * @param textureName The name of the texture of the element.
+         * @return The JSON of the element.
+         */
+        private JsonObject toJson(float scale, String textureName) {
+            JsonObject json = new JsonObject();
+            json.add("from", toArray(shrink(from, scale)));
+            json.add("to", toArray(shrink(to, scale)));
+            if (origin != null) {
+                JsonObject rotation = new JsonObject();
+                rotation.addProperty("angle", angle);
+                rotation.addProperty("axis", String.valueOf("xyz".charAt(axis)));
+                rotation.add("origin", toArray(shrink(origin, scale)));
+                json.add("rotation", rotation);
+            }
+
+            JsonObject faces = new JsonObject();
+            Quaternionf inverse = quarterTurn.conjugate(new Quaternionf());
+            DIRECTIONS.forEach((direction, normal) -> {
+                float[] uv = FACE_UVS.get(getDirection(inverse.transform(new Vector3f(normal))));
+                JsonObject face = new JsonObject();
+                JsonArray uvArray = new JsonArray();
+                for (float value : uv) {
+                    uvArray.add(value);
+                }
+                face.add("uv", uvArray);
+                face.addProperty("texture", "#" + textureName);
+                faces.add(direction, face);
+            });
+            json.add("faces", faces);
+            return json;
+        }
+
+        /**
+         * Returns the direction that is closest to a normal.
+         *
+         * @param normal The normal.
+         * @return The name of the direction.
+         */
+        private static String getDirection(Vector3f normal) {
+            String closest = null;
+            float closestDot = Float.NEGATIVE_INFINITY;
+            for (Map.Entry<String, Vector3fc> direction : DIRECTIONS.entrySet()) {
+                float dot = normal.dot(direction.getValue());
+                if (dot > closestDot) {
+                    closest = direction.getKey();
+                    closestDot = dot;
+                }
+            }
+            return closest;
+        }
+
+        /**
+         * Shrinks a point around the center of the item model.
+         *
+         * @param point The point.
+         * @param scale The scale to shrink with.
+         * @return The shrunk point.
+         */
+        private static Vector3f shrink(Vector3f point, float scale) {
+            return point.sub(8, 8, 8, new Vector3f()).mul(scale).add(8, 8, 8);
+        }
+
+        /**
+         * Returns the JSON array of a point.
+         *
+         * @param point The point.
+         * @return The JSON array of the point.
+         */
+        private static JsonArray toArray(Vector3f point) {
+            JsonArray array = new JsonArray();
+            array.add(point.x);
+            array.add(point.y);
+            array.add(point.z);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package se.wilmer.tireswing.stats;
+
+import java.util.UUID;
+
+/**
+ * A ride that has ended, as it is queued for the ride statistics.
+ *
+ * @param swing     The name of the tire swing that was ridden.
+ * @param player    The unique id of the player that rode it.
+ * @param airtime   The time the player was seated (seconds).
+ * @param peakAngle The largest angle of the ride (degrees).
+ */
+public record RideEvent(String swing, UUID player, double airtime, double peakAngle) {
+}
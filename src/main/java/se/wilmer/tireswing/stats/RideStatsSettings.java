@@ -0,0 +1,11 @@
+package se.wilmer.tireswing.stats;
+
+/**
+ * The settings of the ride statistics store.
+ *
+ * @param queueCapacity The most ride events that may wait to be written, newer events are dropped.
+ * @param flushPeriod   The time between each write of the waiting ride events (milliseconds).
+ * @param batchSize     The most ride events that are written in one transaction.
+ */
+public record RideStatsSettings(int queueCapacity, long flushPeriod, int batchSize) {
+}
@@ -0,0 +1,308 @@
+package se.wilmer.tireswing.stats;
+
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class RideStatsStore {
+    /**
+     * The longest time to wait for the pending writes when closing (seconds).
+     */
+    private static final long CLOSE_TIMEOUT = 5;
+
+    /**
+     * The statements that create the tables of the statistics.
+     */
+    private static final String[] CREATE_TABLES = {
+            "CREATE TABLE IF NOT EXISTS swing_stats (swing TEXT PRIMARY KEY, rides INTEGER NOT NULL, airtime REAL NOT NULL, peak_angle REAL NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS player_stats (player TEXT PRIMARY KEY, rides INTEGER NOT NULL, airtime REAL NOT NULL, peak_angle REAL NOT NULL)"
+    };
+
+    /**
+     * The statement that adds a ride to the statistics of a tire swing.
+     */
+    private static final String ADD_SWING_RIDE = "INSERT INTO swing_stats VALUES (?, 1, ?, ?) ON CONFLICT (swing) DO UPDATE SET "
+            + "rides = rides + 1, airtime = airtime + excluded.airtime, peak_angle = MAX(peak_angle, excluded.peak_angle)";
+
+    /**
+     * The statement that adds a ride to the statistics of a player.
+     */
+    private static final String ADD_PLAYER_RIDE = "INSERT INTO player_stats VALUES (?, 1, ?, ?) ON CONFLICT (player) DO UPDATE SET "
+            + "rides = rides + 1, airtime = airtime + excluded.airtime, peak_angle = MAX(peak_angle, excluded.peak_angle)";
+
+    /**
+     * The logger used to report database errors.
+     */
+    private final ComponentLogger logger;
+
+    /**
+     * The path of the database file.
+     */
+    private final Path path;
+
+    /**
+     * The settings of the store.
+     */
+    private final RideStatsSettings settings;
+
+    /**
+     * The ride events that wait to be written.
+     */
+    private final ConcurrentLinkedQueue<RideEvent> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of ride events in the queue, that bounds the queue without a lock.
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * The number of ride events that were dropped because the queue was full or they could not be written.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The thread that writes the ride events.
+     */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TireSwing Ride Stats Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The connection to the database, only used by the writer thread, or null if it is not open.
+     */
+    private Connection connection;
+
+    /**
+     * Creates a new RideStatsStore instance.
+     *
+     * @param logger   The logger used to report database errors.
+     * @param path     The path of the database file.
+     * @param settings The settings of the store.
+     */
+    public RideStatsStore(ComponentLogger logger, Path path, RideStatsSettings settings) {
+        this.logger = logger;
+        this.path = path;
+        this.settings = settings;
+    }
+
+    /**
+     * Opens the database and starts writing the queued ride events on the writer thread.
+     */
+    public void start() {
+        executor.execute(this::open);
+        executor.scheduleWithFixedDelay(this::drain, settings.flushPeriod(), settings.flushPeriod(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a ride event to be written.
+     * <p>
+     * This never blocks and does no I/O, so it can be called from the main thread.
+     * The event is dropped if the queue is full.
+     *
+     * @param event The ride event.
+     */
+    public void push(RideEvent event) {
+        if (queued.incrementAndGet() > settings.queueCapacity()) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        queue.offer(event);
+    }
+
+    /**
+     * Returns the statistics of a player, after the queued ride events are written.
+     *
+     * @param player The unique id of the player.
+     * @return The statistics of the player, completed on the writer thread.
+     */
+    public CompletableFuture<RideTotal> getPlayerTotal(UUID player) {
+        return CompletableFuture.supplyAsync(() -> {
+            drain();
+            try (PreparedStatement statement = getConnection().prepareStatement(
+                    "SELECT rides, airtime, peak_angle FROM player_stats WHERE player = ?")) {
+                statement.setString(1, player.toString());
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next() ? readTotal(result) : RideTotal.NONE;
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read the ride statistics", e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns the statistics of every tire swing, after the queued ride events are written.
+     *
+     * @return The statistics of each tire swing by its name, completed on the writer thread.
+     */
+    public CompletableFuture<Map<String, RideTotal>> getSwingTotals() {
+        return CompletableFuture.supplyAsync(() -> {
+            drain();
+            Map<String, RideTotal> totals = new LinkedHashMap<>();
+            try (Statement statement = getConnection().createStatement();
+                 ResultSet result = statement.executeQuery("SELECT swing, rides, airtime, peak_angle FROM swing_stats ORDER BY rides DESC")) {
+                while (result.next()) {
+                    totals.put(result.getString("swing"), readTotal(result));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read the ride statistics", e);
+            }
+            return totals;
+        }, executor);
+    }
+
+    /**
+     * Returns the number of ride events that wait to be written.
+     *
+     * @return The number of queued ride events.
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Returns the number of ride events that were dropped because the queue was full or they could not be written.
+     *
+     * @return The number of dropped ride events.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the queued ride events and closes the database.
+     */
+    public void close() {
+        executor.execute(() -> {
+            drain();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.error("Could not close the ride statistics", e);
+                }
+                connection = null;
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                logger.warn("Timed out while writing the ride statistics");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the database and creates its tables, on the writer thread.
+     */
+    private void open() {
+        try {
+            getConnection();
+        } catch (SQLException e) {
+            logger.error("Could not open the ride statistics in {}", path, e);
+        }
+    }
+
+    /**
+     * Returns the connection to the database, and opens it if it is not open.
+     *
+     * @return The connection to the database.
+     * @throws SQLException If the database could not be opened.
+     */
+    private Connection getConnection() throws SQLException {
+        if (connection != null) {
+            return connection;
+        }
+        Connection opened = DriverManager.getConnection("jdbc:sqlite:" + path);
+        try (Statement statement = opened.createStatement()) {
+            for (String createTable : CREATE_TABLES) {
+                statement.execute(createTable);
+            }
+        }
+        opened.setAutoCommit(false);
+        connection = opened;
+        return connection;
+    }
+
+    /**
+     * Writes the queued ride events in batches, one transaction per batch, on the writer thread.
+     * <p>
+     * A batch that could not be written is rolled back and dropped, and the rest of the queue
+     * is written with the next flush.
+     */
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int count = 0;
+            try {
+                Connection database = getConnection();
+                try (PreparedStatement swingStatement = database.prepareStatement(ADD_SWING_RIDE);
+                     PreparedStatement playerStatement = database.prepareStatement(ADD_PLAYER_RIDE)) {
+                    RideEvent event;
+                    while (count < settings.batchSize() && (event = queue.poll()) != null) {
+                        queued.decrementAndGet();
+                        count++;
+                        addRide(swingStatement, event.swing(), event);
+                        addRide(playerStatement, event.player().toString(), event);
+                    }
+                    swingStatement.executeBatch();
+                    playerStatement.executeBatch();
+                    database.commit();
+                } catch (SQLException e) {
+                    database.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                dropped.add(count);
+                logger.error("Could not write {} ride events", count, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a ride to the batch of a statement.
+     *
+     * @param statement The statement that adds a ride.
+     * @param key       The tire swing or player that the ride is added to.
+     * @param event     The ride event.
+     * @throws SQLException If the ride could not be added.
+     */
+    private static void addRide(PreparedStatement statement, String key, RideEvent event) throws SQLException {
+        statement.setString(1, key);
+        statement.setDouble(2, event.airtime());
+        statement.setDouble(3, event.peakAngle());
+        statement.addBatch();
+    }
+
+    /**
+     * Reads the statistics of the current row.
+     *
+     * @param result The result of a query.
+     * @return The statistics of the row.
+     * @throws SQLException If the row could not be read.
+     */
+    private static RideTotal readTotal(ResultSet result) throws SQLException {
+        return new RideTotal(result.getLong("rides"), result.getDouble("airtime"), result.getDouble("peak_angle"));
+    }
+}
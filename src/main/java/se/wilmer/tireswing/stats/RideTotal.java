@@ -0,0 +1,15 @@
+package se.wilmer.tireswing.stats;
+
+/**
+ * The ride statistics of a tire swing or a player.
+ *
+ * @param rides     The number of rides.
+ * @param airtime   The total time seated (seconds).
+ * @param peakAngle The largest angle of any ride (degrees).
+ */
+public record RideTotal(long rides, double airtime, double peakAngle) {
+    /**
+     * The statistics of a tire swing or player without any rides.
+     */
+    public static final RideTotal NONE = new RideTotal(0, 0, 0);
+}
@@ -0,0 +1,138 @@
+package se.wilmer.tireswing.stress;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+import se.wilmer.tireswing.Controller;
+import se.wilmer.tireswing.SwingManager;
+import se.wilmer.tireswing.TireSwing;
+import se.wilmer.tireswing.metrics.TickPhase;
+import se.wilmer.tireswing.metrics.TickTimings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StressTest {
+    /**
+     * The number of ticks the stress test runs before it is reported.
+     */
+    private static final long DURATION = 200L;
+
+    /**
+     * The golden angle, which spreads the swings evenly over the disc (radians).
+     */
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+
+    /**
+     * The TireSwing plugin instance.
+     */
+    private final TireSwing plugin;
+
+    /**
+     * The manager of the tire swings.
+     */
+    private final SwingManager swingManager;
+
+    /**
+     * The tire swings spawned by the stress tests.
+     */
+    private final List<Controller> controllers = new ArrayList<>();
+
+    /**
+     * The task reporting the running stress test, or null if no stress test is running.
+     */
+    private BukkitTask reportTask;
+
+    /**
+     * Creates a new StressTest instance.
+     *
+     * @param plugin       The TireSwing plugin instance.
+     * @param swingManager The manager of the tire swings.
+     */
+    public StressTest(TireSwing plugin, SwingManager swingManager) {
+        this.plugin = plugin;
+        this.swingManager = swingManager;
+    }
+
+    /**
+     * Spawns tire swings around a center and reports the cost of them after {@link #DURATION} ticks.
+     * <p>
+     * The swings are placed on a golden angle spiral, and every other swing is swinging without a rider.
+     * The reported tick time is the average of the server, so it is measured
+     * after the tick that spawned the swings has left the average.
+     *
+     * @param sender The sender to report the stress test to.
+     * @param center The center to place the swings around.
+     * @param count  The number of swings to spawn.
+     * @param radius The radius of the disc to place the swings in.
+     * @return if the stress test was started.
+     */
+    public boolean start(CommandSender sender, Location center, int count, double radius) {
+        if (reportTask != null) {
+            return false;
+        }
+
+        double mspt = plugin.getServer().getAverageTickTime();
+        TickTimings timings = plugin.getTickTimings();
+        long[] nanos = new long[TickPhase.values().length];
+        for (TickPhase phase : TickPhase.values()) {
+            nanos[phase.ordinal()] = timings.getNanos(phase);
+        }
+
+        int swinging = 0;
+        int entities = 0;
+        for (int i = 0; i < count; i++) {
+            double distance = radius * Math.sqrt((i + 0.5) / count);
+            double angle = i * GOLDEN_ANGLE;
+            Location location = center.clone().add(Math.cos(angle) * distance, 0, Math.sin(angle) * distance);
+            Controller controller = swingManager.create(location);
+            controllers.add(controller);
+            entities += controller.getEntityCount();
+            if (i % 2 == 0) {
+                controller.simulate();
+                swinging++;
+            }
+        }
+
+        int swung = swinging;
+        int entityCount = entities;
+        reportTask = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            reportTask = null;
+            double after = plugin.getServer().getAverageTickTime();
+            sender.sendMessage(Component.text(String.format(
+                    "Stress test of %d swings (%d swinging) over %d ticks", count, swung, DURATION
+            ), NamedTextColor.GOLD));
+            sender.sendMessage(Component.text(String.format(
+                    "  mspt: %.2f -> %.2f ms (%+.2f ms)", mspt, after, after - mspt
+            ), NamedTextColor.GRAY));
+            sender.sendMessage(Component.text(String.format(
+                    "  entities: %d spawned, %d in %s", entityCount, center.getWorld().getEntityCount(), center.getWorld().getName()
+            ), NamedTextColor.GRAY));
+            for (TickPhase phase : TickPhase.values()) {
+                double perTick = (timings.getNanos(phase) - nanos[phase.ordinal()]) / (double) DURATION / 1.0E6;
+                sender.sendMessage(Component.text(String.format(
+                        "  %s: %.3f ms/tick", phase.name().toLowerCase(), perTick
+                ), NamedTextColor.GRAY));
+            }
+        }, DURATION);
+        return true;
+    }
+
+    /**
+     * Removes every tire swing spawned by the stress tests.
+     *
+     * @return The number of removed swings.
+     */
+    public int cleanup() {
+        if (reportTask != null) {
+            reportTask.cancel();
+            reportTask = null;
+        }
+        int count = controllers.size();
+        controllers.forEach(swingManager::remove);
+        controllers.clear();
+        return count;
+    }
+}
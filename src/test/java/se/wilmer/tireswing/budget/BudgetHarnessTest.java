@@ -0,0 +1,146 @@
+package se.wilmer.tireswing.budget;
+
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.wilmer.tireswing.animation.Integrators;
+import se.wilmer.tireswing.entities.ViewDistance;
+import se.wilmer.tireswing.model.ModelData;
+import se.wilmer.tireswing.model.ModelTemplate;
+import se.wilmer.tireswing.quality.QualityLevel;
+import se.wilmer.tireswing.quality.Staggering;
+import se.wilmer.tireswing.recording.RecordingWriter;
+import se.wilmer.tireswing.recording.ReplayHarness;
+import se.wilmer.tireswing.recording.ReplayReport;
+import se.wilmer.tireswing.recording.RideLog;
+import se.wilmer.tireswing.recording.RideRecorder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BudgetHarnessTest {
+    /**
+     * The number of measured rides.
+     */
+    private static final int RIDES = 20;
+
+    /**
+     * The number of ticks the rider stays seated in each ride.
+     */
+    private static final int SEATED_TICKS = 400;
+
+    /**
+     * The radius of the swing.
+     */
+    private static final double RADIUS = 2.5;
+
+    /**
+     * The staggered frames of the rides, so the dismount falls between the frames of most slots.
+     */
+    private static final Staggering STAGGERING = new Staggering(4, 32.0);
+
+    /**
+     * The largest angle difference of a replayed frame, from storing the angle as a float (radians).
+     */
+    private static final double REPLAY_ANGLE_TOLERANCE = 1.0E-5;
+
+    /**
+     * The folder the rides are recorded to.
+     */
+    @TempDir
+    static Path recordingFolder;
+
+    /**
+     * The report of the rides, measured once for every test.
+     */
+    private static BudgetReport report;
+
+    /**
+     * The recorded rides, read back after the run.
+     */
+    private static List<RideLog.Ride> recordedRides;
+
+    @BeforeAll
+    static void runRides() throws IOException {
+        Path log = recordingFolder.resolve("budget.tsr");
+        RecordingWriter writer = new RecordingWriter(ComponentLogger.logger(BudgetHarnessTest.class));
+        BudgetHarness harness = new BudgetHarness(
+                createTemplate(8),
+                createTemplate(4),
+                RADIUS,
+                true,
+                Integrators.EULER,
+                QualityLevel.FULL,
+                STAGGERING,
+                new RideRecorder(writer, log)
+        );
+        report = harness.run(RIDES, SEATED_TICKS, TickBudget.DEFAULT);
+        writer.close();
+        recordedRides = RideLog.read(log);
+    }
+
+    @Test
+    void allocationsAreWithinBudget() {
+        assumeTrue(report.bytesPerTick() >= 0, "allocations can't be measured on this JVM");
+        assertTrue(report.isAllocationWithinBudget(), String.format(
+                "allocated %.1f B/tick, budget %d", report.bytesPerTick(), report.budget().bytesPerTick()
+        ));
+    }
+
+    @Test
+    void updatesAreWithinBudget() {
+        assertTrue(report.isUpdatesWithinBudget(), String.format(
+                "sent %.3f updates per part and tick, budget %.3f", report.updatesPerPart(), report.budget().updatesPerPart()
+        ));
+    }
+
+    @Test
+    void movesAreWithinBudget() {
+        assertTrue(report.isMovesWithinBudget(), String.format(
+                "moved %.3f times per tick, budget %.3f", report.movesPerTick(), report.budget().movesPerTick()
+        ));
+    }
+
+    @Test
+    void recordedRidesReplayTheSameAngles() {
+        assertFalse(recordedRides.isEmpty(), "no ride was recorded");
+        ReplayReport replay = new ReplayHarness(createTemplate(8), createTemplate(4), RADIUS, true).replay(recordedRides);
+        assertEquals(recordedRides.size(), replay.rides());
+        assertTrue(replay.maxAngleError() < REPLAY_ANGLE_TOLERANCE, String.format(
+                "replayed angles differ by up to %.2e rad", replay.maxAngleError()
+        ));
+    }
+
+    /**
+     * Creates a template of heads stacked below each other.
+     * <p>
+     * The headless rotation only uses the transformations, so the parts have no item.
+     *
+     * @param size The number of parts.
+     * @return The created template.
+     */
+    private static ModelTemplate createTemplate(int size) {
+        List<ModelData> parts = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Transformation transformation = new Transformation(
+                    new Vector3f(0, -0.5f * i, 0),
+                    new Quaternionf(),
+                    new Vector3f(1, 1, 1),
+                    new Quaternionf()
+            );
+            parts.add(new ModelData(null, "texture", transformation, ViewDistance.DEFAULT));
+        }
+        return new ModelTemplate(parts);
+    }
+}